@@ -13,6 +13,9 @@ public class AndroidLauncher extends AndroidApplication {
         super.onCreate(savedInstanceState);
         AndroidApplicationConfiguration configuration = new AndroidApplicationConfiguration();
         configuration.useImmersiveMode = true; // Recommended, but not required.
-        initialize(new Main(), configuration);
+        Main main = new Main();
+        // Low-end GPUs drop the internal resolution instead of the frame rate.
+        main.setDynamicRenderScale(true);
+        initialize(main, configuration);
     }
 }
\ No newline at end of file
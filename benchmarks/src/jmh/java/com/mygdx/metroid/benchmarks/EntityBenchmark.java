@@ -0,0 +1,60 @@
+package com.mygdx.metroid.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.mygdx.metroid.InputSnapshot;
+import com.mygdx.metroid.Simulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de un paso de simulación con miles de entidades activas (movimiento, barrido contra paredes
+ * y suelo, recogida). A 60 FPS el paso entero tiene que quedarse muy por debajo de 16,6 ms.
+ * Las entidades se relanzan cuando se paran, para que todas sigan moviéndose y chocando.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityBenchmark {
+    private static final float STEP = 1f / 60f;
+    private static final float SIZE = 32f;
+
+    @Param({"1000", "5000", "20000"})
+    public int entities;
+
+    private Simulation simulation;
+    private final InputSnapshot input = new InputSnapshot();
+    private final RandomXS128 random = new RandomXS128(7L);
+
+    @Setup
+    public void setup() {
+        simulation = new Simulation(42L);
+        for (int i = 0; i < entities; i++) {
+            spawn();
+        }
+    }
+
+    @Benchmark
+    public int step() {
+        simulation.step(STEP, input);
+        // Sustituimos las que recoge el jugador para mantener la población
+        while (simulation.getEntities().size() < entities) {
+            spawn();
+        }
+        return simulation.getEntities().size();
+    }
+
+    private void spawn() {
+        // Entre las paredes, por debajo de la altura que se conserva de la torre
+        float x = Simulation.WALL_TILE_SIZE + random.nextFloat() * (Simulation.WORLD_WIDTH - 2 * Simulation.WALL_TILE_SIZE - SIZE);
+        float y = Simulation.GROUND_HEIGHT + random.nextFloat() * Simulation.STREAM_AHEAD;
+        simulation.spawnPickup(x, y, SIZE, (random.nextFloat() - 0.5f) * 1200f, random.nextFloat() * 1500f);
+    }
+}
@@ -0,0 +1,75 @@
+package com.mygdx.metroid.benchmarks;
+
+import com.mygdx.metroid.InputSnapshot;
+import com.mygdx.metroid.Player;
+import com.mygdx.metroid.Simulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks por segundo de la simulación sin gráficos.
+ * Con el perfilador gc (activado en build.gradle), gc.alloc.rate.norm son los bytes reservados por tick.
+ * Ejecutar con {@code ./gradlew benchmarks:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SimulationBenchmark {
+    private static final float STEP = 1f / 60f;
+    // El bot toca cada medio segundo y mantiene el toque un cuarto de segundo
+    private static final int TAP_INTERVAL_TICKS = 30;
+    private static final int HOLD_TICKS = 15;
+
+    // Ascenso sintético para medir el streaming de tramos: 100 px por operación hasta 1.000.000 px
+    private static final float CLIMB_STEP = 100f;
+    private static final float CLIMB_LIMIT = 1000000f;
+
+    private Simulation simulation;
+    private Player player;
+    private final InputSnapshot input = new InputSnapshot();
+    private int tick;
+    private float climbY;
+
+    @Setup
+    public void setup() {
+        simulation = new Simulation(42L);
+        player = simulation.getPlayer();
+        tick = 0;
+        climbY = 0f;
+    }
+
+    @Benchmark
+    public float tick() {
+        int phase = tick++ % TAP_INTERVAL_TICKS;
+        input.set(phase == 0, phase < HOLD_TICKS);
+        simulation.step(STEP, input);
+
+        // Si el bot se cae de la torre volvemos a empezar para seguir midiendo colisiones
+        if (player.position.y < 0) {
+            simulation.reset();
+        }
+        return player.position.y;
+    }
+
+    /**
+     * Generación y liberación de tramos al subir: tanto el tiempo como los bytes por operación
+     * deben ser constantes a cualquier altura, porque los tramos y plataformas salen de pools.
+     */
+    @Benchmark
+    public int streamClimb() {
+        climbY += CLIMB_STEP;
+        if (climbY > CLIMB_LIMIT) {
+            simulation.reset();
+            climbY = 0f;
+        }
+        simulation.streamAround(climbY);
+        return simulation.getChunks().size;
+    }
+}
@@ -0,0 +1,72 @@
+package com.mygdx.metroid.benchmarks;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.metroid.Player;
+import com.mygdx.metroid.Simulation;
+import com.mygdx.metroid.VerticalBandIndex;
+import com.mygdx.metroid.WallStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de buscar las paredes cercanas al jugador según la altura de la torre.
+ * Con el índice por franjas el tiempo por consulta debe mantenerse plano al pasar de 1.000 a 100.000 segmentos;
+ * {@code linearScan} es la referencia con el recorrido completo de antes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WallIndexBenchmark {
+    private static final int QUERY_COUNT = 1024; // potencia de dos para recorrerlas con una máscara
+
+    @Param({"1000", "10000", "100000"})
+    public int wallSegments;
+
+    private final WallStore walls = new WallStore();
+    private final VerticalBandIndex index = new VerticalBandIndex(walls, 256f);
+    private final IntArray out = new IntArray();
+    private final float[] queryY = new float[QUERY_COUNT];
+    private int next;
+
+    @Setup
+    public void setup() {
+        MathUtils.random.setSeed(42L);
+        float currentY = 0f;
+        for (int i = 0; i < wallSegments; i++) {
+            currentY += MathUtils.random(120f, 250f);
+            int wall = walls.add(0, currentY, Simulation.WALL_TILE_SIZE, Simulation.WALL_TILE_SIZE, 1f, -90f);
+            index.add(wall);
+        }
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queryY[i] = MathUtils.random(0f, currentY);
+        }
+    }
+
+    @Benchmark
+    public int bandQuery() {
+        float y = queryY[next++ & (QUERY_COUNT - 1)];
+        out.clear();
+        return index.query(y, y + Player.HEIGHT, out).size;
+    }
+
+    @Benchmark
+    public int linearScan() {
+        float y = queryY[next++ & (QUERY_COUNT - 1)];
+        out.clear();
+        for (int wall = walls.getFirstId(); wall < walls.getEndId(); wall++) {
+            if (walls.getY(wall) <= y + Player.HEIGHT && walls.getTop(wall) >= y) {
+                out.add(wall);
+            }
+        }
+        return out.size;
+    }
+}
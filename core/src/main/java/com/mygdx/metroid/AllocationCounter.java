@@ -0,0 +1,10 @@
+package com.mygdx.metroid;
+
+/**
+ * Fuente de bytes reservados por el hilo actual. En escritorio la implementa el launcher con
+ * ThreadMXBean; Android no tiene esa API, así que allí no se instala ninguna.
+ */
+public interface AllocationCounter {
+    /** Total acumulado de bytes reservados por el hilo que llama. */
+    long getAllocatedBytes();
+}
@@ -0,0 +1,53 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Mide los bytes reservados en cada frame y los resume por el canal de log "Alloc" una vez por segundo.
+ * En estado estable el bucle de juego no debería reservar nada: cualquier valor distinto de 0 es una regresión.
+ */
+public class AllocationMonitor {
+    private static final String TAG = "Alloc";
+    private static final float REPORT_INTERVAL = 1f;
+
+    private final AllocationCounter counter;
+    private long frameStart;
+    private long lastFrameBytes;
+    private long windowBytes;
+    private long windowMaxBytes;
+    private int windowFrames;
+    private int windowAllocatingFrames;
+    private float windowTime;
+
+    public AllocationMonitor(AllocationCounter counter) {
+        this.counter = counter;
+    }
+
+    public void beginFrame() {
+        frameStart = counter.getAllocatedBytes();
+    }
+
+    /** Cierra la medida del frame; el log se escribe después de medir para no contarse a sí mismo. */
+    public void endFrame(float delta) {
+        lastFrameBytes = Math.max(0, counter.getAllocatedBytes() - frameStart);
+        windowBytes += lastFrameBytes;
+        windowMaxBytes = Math.max(windowMaxBytes, lastFrameBytes);
+        windowFrames++;
+        if (lastFrameBytes > 0) windowAllocatingFrames++;
+        windowTime += delta;
+
+        if (windowTime >= REPORT_INTERVAL) {
+            Gdx.app.log(TAG, "bytes/frame avg: " + (windowBytes / windowFrames) + ", max: " + windowMaxBytes
+                + ", frames allocating: " + windowAllocatingFrames + "/" + windowFrames);
+            windowBytes = 0;
+            windowMaxBytes = 0;
+            windowFrames = 0;
+            windowAllocatingFrames = 0;
+            windowTime = 0f;
+        }
+    }
+
+    public long getLastFrameBytes() {
+        return lastFrameBytes;
+    }
+}
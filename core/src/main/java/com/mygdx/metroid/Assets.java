@@ -0,0 +1,47 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+/**
+ * Rutas de assets y nombres de regiones del atlas.
+ * El atlas se genera con la tarea de Gradle {@code packTextures} a partir de assets/PNG.
+ * Todo se carga a través del {@link AssetManager} de {@link Main}, que comparte las texturas
+ * y cuenta referencias: nadie más hace {@code new Texture} ni {@code dispose} sobre ellas.
+ */
+public final class Assets {
+    public static final String ATLAS = "atlas/game.atlas";
+    public static final String BACKGROUND = "Background/3.png";
+    public static final String PLAYER_ANIMATIONS = "animations/player.json"; // Frames de cada pose (ver PlayerAnimations)
+    public static final String MUSIC = "Music/climb.wav"; // Se reproduce en streaming, no se decodifica entera
+
+    // Efectos cortos, decodificados al cargar; en el orden de las constantes de GameAudio
+    static final String[] SOUNDS = {
+        "Sounds/jump.wav",
+        "Sounds/wall.wav",
+        "Sounds/bounce.wav",
+        "Sounds/pickup.wav"
+    };
+
+    // Regiones de atlas/game.atlas (ruta dentro de assets/PNG sin extensión)
+    public static final String REGION_GROUND = "Tiles/platformPack_tile015";
+    public static final String REGION_WALL = "Tiles/platformPack_tile033";
+    public static final String REGION_GEM = "Items/platformPack_item008";
+    public static final String REGION_PARTICLE = "Particles/dot";
+
+    private Assets() {
+    }
+
+    /** Encola en {@code manager} todo lo que necesita {@link GameScreen}; la carga es asíncrona. */
+    public static void queueGameAssets(AssetManager manager) {
+        manager.load(ATLAS, TextureAtlas.class);
+        manager.load(BACKGROUND, Texture.class);
+        for (String sound : SOUNDS) {
+            manager.load(sound, Sound.class);
+        }
+        manager.load(MUSIC, Music.class);
+    }
+}
@@ -0,0 +1,37 @@
+package com.mygdx.metroid;
+
+/**
+ * Lo que suena de verdad detrás de {@link GameAudio}. En el juego es {@link GdxAudioBackend}; sin audio
+ * (sin pantalla, o con -Dmetroid.mute en escritorio) se usa {@link #NONE}, que no hace nada.
+ * Los efectos se identifican con las constantes de {@link GameAudio}.
+ */
+public interface AudioBackend {
+    AudioBackend NONE = new AudioBackend() {
+        @Override
+        public long play(int effect, float volume, float pitch, float pan) {
+            return 0;
+        }
+
+        @Override
+        public void stop(int effect, long voice) {
+        }
+
+        @Override
+        public void playMusic(float volume) {
+        }
+
+        @Override
+        public void pauseMusic() {
+        }
+    };
+
+    /** @return id de la voz para {@link #stop}, o -1 si no se pudo reproducir */
+    long play(int effect, float volume, float pitch, float pan);
+
+    void stop(int effect, long voice);
+
+    /** Empieza o continúa la música en bucle. */
+    void playMusic(float volume);
+
+    void pauseMusic();
+}
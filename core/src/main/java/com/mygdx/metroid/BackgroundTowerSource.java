@@ -0,0 +1,215 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Torre generada con semilla, como {@link TowerGenerator}, pero en un hilo aparte que va varios tramos
+ * por delante. El hilo genera en sus propios {@link WallStore} y deja cada tramo como datos planos
+ * ({@link Layout}) en una {@link SpscQueue}; {@link #fill} solo copia esos datos a los almacenes de la
+ * simulación. Los {@link Layout} vuelven al hilo por otra cola, así que en marcha no se crean objetos.
+ * La torre es idéntica a la de {@link TowerGenerator} con la misma semilla y los mismos parámetros.
+ * Hay que llamar a {@link #dispose} para parar el hilo.
+ */
+public class BackgroundTowerSource implements TowerSource, Disposable {
+    // Tramos preparados por delante: unos 15000 px con los parámetros por defecto
+    private static final int CHUNKS_AHEAD = 8;
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+
+    /** Un tramo generado: segmentos de cada pared (6 floats cada uno) y su rango vertical. */
+    static final class Layout {
+        static final int FLOATS = 6; // x, y, ancho, alto, escala, rotación
+
+        final float[] left = new float[TowerGenerator.SEGMENTS_PER_CHUNK * FLOATS];
+        final float[] right = new float[TowerGenerator.SEGMENTS_PER_CHUNK * FLOATS];
+        int leftCount;
+        int rightCount;
+        float bottomY;
+        float topY;
+        float cursorY;
+        int epoch; // Reinicio de la torre al que pertenece
+    }
+
+    private final WallStore leftWalls;
+    private final WallStore rightWalls;
+    private final TowerParameters parameters;
+
+    private final SpscQueue<Layout> ready = new SpscQueue<>(CHUNKS_AHEAD); // Hilo → simulación
+    private final SpscQueue<Layout> free = new SpscQueue<>(CHUNKS_AHEAD);  // Simulación → hilo
+    private final Thread worker;
+    private volatile boolean running = true;
+    private volatile Thread waiter; // Hilo de la simulación mientras espera un tramo en fill
+
+    // Reinicios: la simulación escribe la semilla y después sube la época; el hilo descarta lo anterior
+    private volatile long requestedSeed;
+    private volatile int requestedEpoch = 0;
+
+    // Estado del lado de la simulación
+    private long seed;
+    private int epoch = 0;
+    private float cursorY = 0f;
+    private int stalls = 0;
+
+    public BackgroundTowerSource(WallStore leftWalls, WallStore rightWalls, long seed, TowerParameters parameters) {
+        this.leftWalls = leftWalls;
+        this.rightWalls = rightWalls;
+        this.parameters = parameters;
+        this.seed = seed;
+        this.requestedSeed = seed;
+        for (int i = 0; i < CHUNKS_AHEAD; i++) {
+            free.offer(new Layout());
+        }
+        worker = new Thread(this::generate, "TowerGenerator");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** Bucle del hilo: rellena todos los {@link Layout} libres y se duerme hasta que vuelva alguno. */
+    private void generate() {
+        WallStore left = new WallStore();
+        WallStore right = new WallStore();
+        int generatorEpoch = requestedEpoch;
+        TowerGenerator generator = new TowerGenerator(left, right, requestedSeed, parameters);
+        TowerChunk chunk = new TowerChunk();
+
+        while (running) {
+            int wanted = requestedEpoch;
+            if (wanted != generatorEpoch) {
+                // La semilla se escribe antes que la época, así que aquí ya es la nueva (o una posterior)
+                generatorEpoch = wanted;
+                left.clear();
+                right.clear();
+                generator.reset(requestedSeed);
+            }
+
+            Layout layout = free.poll();
+            if (layout == null) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            generator.fill(chunk);
+            layout.leftCount = copy(left, chunk.leftFirstId, chunk.leftEndId, layout.left);
+            layout.rightCount = copy(right, chunk.rightFirstId, chunk.rightEndId, layout.right);
+            left.removeBefore(chunk.leftEndId);
+            right.removeBefore(chunk.rightEndId);
+            layout.bottomY = chunk.bottomY;
+            layout.topY = chunk.topY;
+            layout.cursorY = generator.getCursorY();
+            layout.epoch = generatorEpoch;
+            ready.offer(layout); // Siempre cabe: solo hay CHUNKS_AHEAD layouts
+            Thread waiting = waiter;
+            if (waiting != null) LockSupport.unpark(waiting);
+        }
+    }
+
+    private static int copy(WallStore walls, int firstId, int endId, float[] out) {
+        int i = 0;
+        for (int id = firstId; id < endId; id++) {
+            out[i++] = walls.getX(id);
+            out[i++] = walls.getY(id);
+            out[i++] = walls.getWidth(id);
+            out[i++] = walls.getHeight(id);
+            out[i++] = walls.getScale(id);
+            out[i++] = walls.getRotation(id);
+        }
+        return endId - firstId;
+    }
+
+    /** Copia el siguiente tramo ya generado; solo espera si el hilo aún no ha llegado (al empezar o tras un reset). */
+    @Override
+    public void fill(TowerChunk chunk) {
+        Layout layout;
+        while (true) {
+            layout = ready.poll();
+            if (layout == null) layout = await();
+            if (layout.epoch == epoch) break;
+            free.offer(layout); // De antes del último reset
+        }
+
+        chunk.leftFirstId = leftWalls.getEndId();
+        chunk.rightFirstId = rightWalls.getEndId();
+        add(leftWalls, layout.left, layout.leftCount);
+        add(rightWalls, layout.right, layout.rightCount);
+        chunk.leftEndId = leftWalls.getEndId();
+        chunk.rightEndId = rightWalls.getEndId();
+        chunk.bottomY = layout.bottomY;
+        chunk.topY = layout.topY;
+        cursorY = layout.cursorY;
+
+        free.offer(layout);
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Duerme hasta que el hilo publique un tramo en vez de girar en vacío. El hilo despierta a
+     * {@link #waiter} tras cada {@code offer}; el tiempo máximo cubre un aviso que llegue justo antes de dormir.
+     */
+    private Layout await() {
+        stalls++;
+        waiter = Thread.currentThread();
+        try {
+            Layout layout;
+            while ((layout = ready.poll()) == null) {
+                LockSupport.unpark(worker);
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            return layout;
+        } finally {
+            waiter = null;
+        }
+    }
+
+    private static void add(WallStore walls, float[] data, int count) {
+        for (int i = 0, n = count * Layout.FLOATS; i < n; i += Layout.FLOATS) {
+            walls.add(data[i], data[i + 1], data[i + 2], data[i + 3], data[i + 4], data[i + 5]);
+        }
+    }
+
+    @Override
+    public float getCursorY() {
+        return cursorY;
+    }
+
+    @Override
+    public boolean hasMore() {
+        return true;
+    }
+
+    @Override
+    public float getGroundHeight() {
+        return Simulation.GROUND_HEIGHT;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Descarta lo que el hilo tenía preparado y le pide que empiece de nuevo con {@code seed}. */
+    @Override
+    public void reset(long seed) {
+        this.seed = seed;
+        cursorY = 0f;
+        requestedSeed = seed;
+        requestedEpoch = ++epoch;
+        LockSupport.unpark(worker);
+    }
+
+    /** Veces que {@link #fill} tuvo que esperar al hilo. */
+    public int getStalls() {
+        return stalls;
+    }
+
+    /** Para el hilo y espera a que termine. */
+    @Override
+    public void dispose() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
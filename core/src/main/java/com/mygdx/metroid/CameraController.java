@@ -0,0 +1,90 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Seguimiento vertical de la cámara. Se actualiza en cada paso fijo de simulación y el render
+ * interpola entre los dos últimos pasos, igual que con el jugador.
+ * El objetivo se adelanta en la dirección de la velocidad (look-ahead), así en un salto de
+ * 1000 px/s las paredes de arriba entran en pantalla antes; dentro de la zona muerta la cámara
+ * no se mueve, y su centro nunca sale de los límites (por ejemplo, para no enseñar bajo el suelo).
+ * El amortiguamiento es exponencial en el tiempo, así que no depende de la duración del paso.
+ */
+public class CameraController {
+    // Equivale al lerp de 0.1 por paso a 60 Hz que se usaba antes: -ln(0.9) * 60
+    private static final float DAMPING = 6.3f;                // 1/s
+    private static final float LOOK_AHEAD_TIME = 0.3f;        // s de velocidad que se adelanta el objetivo
+    private static final float MAX_LOOK_AHEAD = 250f;         // px
+    private static final float LOOK_AHEAD_DAMPING = 3f;       // 1/s; suaviza los cambios de sentido
+    private static final float DEAD_ZONE = 32f;               // Media altura de la zona muerta, en px
+
+    private final float viewHeight;
+    private float minY = -Float.MAX_VALUE;
+    private float maxY = Float.MAX_VALUE;
+
+    private float y;
+    private float previousY;
+    private float lookAhead;
+
+    /** @param viewHeight alto del mundo visible, para las consultas de rango visible */
+    public CameraController(float viewHeight) {
+        this.viewHeight = viewHeight;
+    }
+
+    /** Límites del centro de la cámara. */
+    public void setBounds(float minY, float maxY) {
+        if (minY > maxY) throw new IllegalArgumentException("minY > maxY: " + minY + " > " + maxY);
+        this.minY = minY;
+        this.maxY = maxY;
+        y = previousY = MathUtils.clamp(y, minY, maxY);
+    }
+
+    /** Coloca la cámara directamente sobre {@code targetY}, sin transición (al empezar o continuar una partida). */
+    public void reset(float targetY) {
+        y = previousY = MathUtils.clamp(targetY, minY, maxY);
+        lookAhead = 0f;
+    }
+
+    /**
+     * Un paso fijo: acerca la cámara a {@code targetY}, adelantado según {@code velocityY}.
+     *
+     * @param dt duración del paso en segundos
+     */
+    public void update(float dt, float targetY, float velocityY) {
+        previousY = y;
+
+        float wantedLookAhead = MathUtils.clamp(velocityY * LOOK_AHEAD_TIME, -MAX_LOOK_AHEAD, MAX_LOOK_AHEAD);
+        lookAhead += (wantedLookAhead - lookAhead) * approach(LOOK_AHEAD_DAMPING, dt);
+
+        // Solo se persigue lo que sale de la zona muerta
+        float focus = targetY + lookAhead;
+        float goal = y;
+        if (focus > y + DEAD_ZONE) {
+            goal = focus - DEAD_ZONE;
+        } else if (focus < y - DEAD_ZONE) {
+            goal = focus + DEAD_ZONE;
+        }
+        y += (goal - y) * approach(DAMPING, dt);
+        y = MathUtils.clamp(y, minY, maxY);
+    }
+
+    /** Centro de la cámara interpolado entre los dos últimos pasos. */
+    public float getY(float alpha) {
+        return MathUtils.lerp(previousY, y, alpha);
+    }
+
+    /** Borde inferior de lo visible con la cámara interpolada. */
+    public float getVisibleMinY(float alpha) {
+        return getY(alpha) - viewHeight / 2;
+    }
+
+    /** Borde superior de lo visible con la cámara interpolada; con alpha = 1, el del último paso. */
+    public float getVisibleMaxY(float alpha) {
+        return getY(alpha) + viewHeight / 2;
+    }
+
+    /** Fracción del camino que se recorre en {@code dt} con amortiguamiento exponencial. */
+    private static float approach(float rate, float dt) {
+        return 1f - (float) Math.exp(-rate * dt);
+    }
+}
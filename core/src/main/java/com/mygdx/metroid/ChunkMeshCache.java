@@ -0,0 +1,232 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Geometría estática de la torre ya en la GPU: los tiles de pared de cada {@link TowerChunk} se transforman
+ * (rotación y escala incluidas) una sola vez, la primera vez que el tramo se ve, y quedan en un {@link Mesh}
+ * estático; después cada tramo visible se dibuja con una única llamada y sin tocar sus vértices en la CPU.
+ * El suelo tiene su propio mesh de un quad, y lo poco que cambia cada frame pero tiene que quedar por debajo
+ * (el fondo) se sube con {@link #drawQuads} a un mesh dinámico; así todo lo que va antes de las entidades se
+ * dibuja en este pase y el resto del frame cabe en un solo begin/end del lote.
+ * Los meshes se reutilizan: un tramo nuevo ocupa el del que lleve más tiempo sin verse, así que solo se
+ * crean al principio (hasta los tramos que caben a la vez en pantalla) o si un tramo no cabe en el suyo.
+ * Los vértices tienen el formato de {@link SpriteBatch} y se dibujan con su shader por defecto; todos
+ * los tiles son del mismo atlas, que debe contener también la región del suelo.
+ */
+public class ChunkMeshCache implements Disposable {
+    private static final int VERTICES_PER_QUAD = 4;
+    private static final int INDICES_PER_QUAD = 6;
+    private static final int INITIAL_QUADS = TowerGenerator.SEGMENTS_PER_CHUNK * 2;
+    private static final int FRAME_QUADS = 8; // Por llamada a drawQuads: una capa de fondo son 1 a 3 quads
+
+    /** Un mesh y el tramo que tiene ahora. */
+    private static final class Entry {
+        final Mesh mesh;
+        final int capacity; // Quads
+        int serial = -1;
+        int quads;
+        int lastFrame = -1; // Último frame en que se dibujó
+
+        Entry(int capacity) {
+            this.capacity = capacity;
+            mesh = createMesh(true, capacity);
+        }
+    }
+
+    private final WallStore leftWalls;
+    private final WallStore rightWalls;
+    private final TextureRegion wallRegion;
+    private final ShaderProgram shader;
+    private final Array<Entry> entries = new Array<>(false, 8);
+    private final Entry ground;
+    private final Mesh frameMesh = createMesh(false, FRAME_QUADS);
+    private float[] vertices = new float[INITIAL_QUADS * RenderQueue.QUAD_SIZE];
+    private int frame = 0;
+    private int drawCalls = 0;
+    private int baked = 0;
+
+    /**
+     * @param groundRegion se estira de x = 0 a {@code groundWidth}, con la altura de la región
+     */
+    public ChunkMeshCache(WallStore leftWalls, WallStore rightWalls, TextureRegion wallRegion,
+                          TextureRegion groundRegion, float groundWidth) {
+        if (groundRegion.getTexture() != wallRegion.getTexture()) {
+            throw new IllegalArgumentException("El suelo y las paredes tienen que estar en la misma textura");
+        }
+        this.leftWalls = leftWalls;
+        this.rightWalls = rightWalls;
+        this.wallRegion = wallRegion;
+        shader = SpriteBatch.createDefaultShader();
+
+        ground = new Entry(1);
+        RenderQueue.transform(vertices, 0, Color.WHITE_FLOAT_BITS, groundRegion, 0, 0, 0, 0,
+            groundWidth, groundRegion.getRegionHeight(), 1f, 1f, 0f);
+        ground.mesh.setVertices(vertices, 0, RenderQueue.QUAD_SIZE);
+        ground.quads = 1;
+    }
+
+    private static Mesh createMesh(boolean isStatic, int quads) {
+        Mesh mesh = new Mesh(isStatic, quads * VERTICES_PER_QUAD, quads * INDICES_PER_QUAD,
+            new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            VertexAttribute.ColorPacked(), VertexAttribute.TexCoords(0));
+        // Dos triángulos por quad, con las esquinas en el orden de SpriteBatch
+        short[] indices = new short[quads * INDICES_PER_QUAD];
+        for (int i = 0, v = 0; i < indices.length; i += INDICES_PER_QUAD, v += VERTICES_PER_QUAD) {
+            indices[i] = (short) v;
+            indices[i + 1] = (short) (v + 1);
+            indices[i + 2] = (short) (v + 2);
+            indices[i + 3] = (short) (v + 2);
+            indices[i + 4] = (short) (v + 3);
+            indices[i + 5] = (short) v;
+        }
+        mesh.setIndices(indices);
+        return mesh;
+    }
+
+    /** Prepara el shader y la textura; entre begin y end no puede haber un lote abierto. */
+    public void begin(Matrix4 projection) {
+        frame++;
+        drawCalls = 0;
+        Gdx.gl.glDepthMask(false);
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformi("u_texture", 0);
+        wallRegion.getTexture().bind(0);
+    }
+
+    /**
+     * Dibuja {@code quads} quads de {@code vertices} (formato de SpriteBatch) con {@code texture}, subiéndolos
+     * ahora. Es para el fondo, que cambia cada frame; como mucho {@link #FRAME_QUADS} por llamada.
+     */
+    public void drawQuads(Texture texture, float[] vertices, int offset, int quads) {
+        if (quads > FRAME_QUADS) throw new IllegalArgumentException("Demasiados quads: " + quads);
+        if (quads == 0) return;
+        texture.bind(0);
+        frameMesh.setVertices(vertices, offset, quads * RenderQueue.QUAD_SIZE);
+        frameMesh.render(shader, GL20.GL_TRIANGLES, 0, quads * INDICES_PER_QUAD);
+        drawCalls++;
+        wallRegion.getTexture().bind(0);
+    }
+
+    public void drawGround() {
+        render(ground);
+    }
+
+    /** Dibuja las paredes de {@code chunk}, transformándolas antes si es la primera vez que se ve. */
+    public void draw(TowerChunk chunk) {
+        Entry entry = find(chunk.serial);
+        if (entry == null) entry = bake(chunk);
+        entry.lastFrame = frame;
+        render(entry);
+    }
+
+    public void end() {
+        Gdx.gl.glDepthMask(true);
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    private void render(Entry entry) {
+        if (entry.quads == 0) return;
+        entry.mesh.render(shader, GL20.GL_TRIANGLES, 0, entry.quads * INDICES_PER_QUAD);
+        drawCalls++;
+    }
+
+    private Entry find(int serial) {
+        for (int i = 0; i < entries.size; i++) {
+            Entry entry = entries.get(i);
+            if (entry.serial == serial) return entry;
+        }
+        return null;
+    }
+
+    /** Sube los quads de {@code chunk} al mesh que lleve más tiempo sin usarse (o a uno nuevo). */
+    private Entry bake(TowerChunk chunk) {
+        int quads = chunk.getWallCount();
+        if (vertices.length < quads * RenderQueue.QUAD_SIZE) {
+            vertices = new float[quads * RenderQueue.QUAD_SIZE];
+        }
+        int offset = transform(leftWalls, chunk.leftFirstId, chunk.leftEndId, 0);
+        transform(rightWalls, chunk.rightFirstId, chunk.rightEndId, offset);
+
+        Entry entry = leastRecentlyUsed();
+        if (entry != null && entry.capacity < quads) {
+            entries.removeValue(entry, true);
+            entry.mesh.dispose();
+            entry = null;
+        }
+        if (entry == null) {
+            entry = new Entry(Math.max(INITIAL_QUADS, quads));
+            entries.add(entry);
+        }
+        entry.mesh.setVertices(vertices, 0, quads * RenderQueue.QUAD_SIZE);
+        entry.serial = chunk.serial;
+        entry.quads = quads;
+        baked++;
+        return entry;
+    }
+
+    /** El mesh más antiguo que no se haya dibujado en este frame; null si todos están en uso. */
+    private Entry leastRecentlyUsed() {
+        Entry oldest = null;
+        for (int i = 0; i < entries.size; i++) {
+            Entry entry = entries.get(i);
+            if (entry.lastFrame == frame) continue;
+            if (oldest == null || entry.lastFrame < oldest.lastFrame) oldest = entry;
+        }
+        return oldest;
+    }
+
+    private int transform(WallStore walls, int firstId, int endId, int offset) {
+        for (int id = firstId; id < endId; id++) {
+            float width = walls.getWidth(id);
+            float height = walls.getHeight(id);
+            float scale = walls.getScale(id);
+            // Rotado y escalado sobre su centro, como hacía el antiguo Sprite
+            RenderQueue.transform(vertices, offset, Color.WHITE_FLOAT_BITS, wallRegion, walls.getX(id), walls.getY(id),
+                width / 2, height / 2, width, height, scale, scale, walls.getRotation(id));
+            offset += RenderQueue.QUAD_SIZE;
+        }
+        return offset;
+    }
+
+    /** Llamadas de dibujo desde el último {@link #begin}: una por tramo visible, más el suelo y el fondo. */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    /** Tramos transformados y subidos a la GPU desde que se creó. */
+    public int getBakedCount() {
+        return baked;
+    }
+
+    /** Meshes reservados (como mucho, los tramos que llegan a verse a la vez). */
+    public int getMeshCount() {
+        return entries.size;
+    }
+
+    @Override
+    public void dispose() {
+        for (int i = 0; i < entries.size; i++) {
+            entries.get(i).mesh.dispose();
+        }
+        entries.clear();
+        ground.mesh.dispose();
+        frameMesh.dispose();
+        shader.dispose();
+    }
+}
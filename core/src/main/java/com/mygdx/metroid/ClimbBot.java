@@ -0,0 +1,63 @@
+package com.mygdx.metroid;
+
+/**
+ * Jugador automático de toques programados, para medir si una torre se puede subir sin pantalla.
+ * Pegado a una pared espera unos pasos y salta; en el aire gasta el rebote cuando la velocidad
+ * vertical baja de un umbral. No crea objetos: rellena el {@link InputSnapshot} que se le pasa.
+ */
+public class ClimbBot {
+    /** Umbral por defecto: rebota justo al llegar al punto más alto del salto. */
+    public static final float DEFAULT_BOUNCE_VELOCITY = 0f;
+
+    private final int wallWaitSteps;
+    private final float bounceVelocity;
+    private int attachedSteps = 0;
+    private int taps = 0;
+    private int airBounces = 0;
+
+    /**
+     * @param wallWaitSteps  pasos que espera pegado a la pared (o en el suelo) antes de saltar
+     * @param bounceVelocity rebota en el aire en cuanto {@code velocity.y} baja de este valor
+     */
+    public ClimbBot(int wallWaitSteps, float bounceVelocity) {
+        if (wallWaitSteps < 0) throw new IllegalArgumentException("wallWaitSteps debe ser >= 0: " + wallWaitSteps);
+        this.wallWaitSteps = wallWaitSteps;
+        this.bounceVelocity = bounceVelocity;
+    }
+
+    public ClimbBot() {
+        this(0, DEFAULT_BOUNCE_VELOCITY);
+    }
+
+    /** Decide la entrada del siguiente paso según el estado actual del jugador. */
+    public InputSnapshot next(Player player, InputSnapshot out) {
+        boolean tap = false;
+        if (player.currentState == Player.PlayerState.IN_AIR) {
+            attachedSteps = 0;
+            if (!player.hasAirBounced && player.velocity.y <= bounceVelocity) {
+                tap = true;
+                airBounces++;
+            }
+        } else if (attachedSteps++ >= wallWaitSteps) {
+            tap = true;
+        }
+        if (tap) taps++;
+        // Toques secos: mantener pulsado solo añade 25 px/s al salto y no cambia el resultado
+        return out.set(tap, tap);
+    }
+
+    public void reset() {
+        attachedSteps = 0;
+        taps = 0;
+        airBounces = 0;
+    }
+
+    /** Toques desde el último {@link #reset()}, rebotes incluidos. */
+    public int getTaps() {
+        return taps;
+    }
+
+    public int getAirBounces() {
+        return airBounces;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Encola las entidades con SPRITE y POSITION en la capa de entidades, interpoladas entre pasos.
+ * Cada valor del componente SPRITE se asocia a una región del atlas con {@link #setRegion}.
+ * No es un {@link EntitySystem}: va con el frame (y su alpha de interpolación), no con el paso fijo.
+ */
+public class EntityRenderer {
+    private static final int REQUIRED = EntityWorld.POSITION | EntityWorld.SPRITE;
+
+    private final Array<TextureRegion> regions = new Array<>();
+
+    public void setRegion(int sprite, TextureRegion region) {
+        while (regions.size <= sprite) regions.add(null);
+        regions.set(sprite, region);
+    }
+
+    /**
+     * Dibuja las entidades cuya caja corta la franja [minY, maxY]. Las dibujadas se cuentan al vaciar la cola.
+     *
+     * @return número de entidades descartadas por quedar fuera de la franja
+     */
+    public int draw(RenderQueue queue, EntityWorld world, float alpha, float minY, float maxY) {
+        int culled = 0;
+        for (int i = 0, n = world.size(); i < n; i++) {
+            int id = world.getEntity(i);
+            if (!world.has(id, REQUIRED)) continue;
+            int sprite = world.getSprite(id);
+            TextureRegion region = sprite < regions.size ? regions.get(sprite) : null;
+            if (region == null) continue;
+            float y = world.getInterpolatedY(id, alpha);
+            float height = world.has(id, EntityWorld.BODY) ? world.getHeight(id) : region.getRegionHeight();
+            if (y > maxY || y + height < minY) {
+                culled++;
+                continue;
+            }
+            float width = world.has(id, EntityWorld.BODY) ? world.getWidth(id) : region.getRegionWidth();
+            queue.draw(RenderQueue.LAYER_ENTITIES, region, world.getInterpolatedX(id, alpha), y, width, height);
+        }
+        return culled;
+    }
+}
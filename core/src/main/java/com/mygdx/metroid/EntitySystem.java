@@ -0,0 +1,6 @@
+package com.mygdx.metroid;
+
+/** Lógica que se ejecuta en cada paso de simulación sobre las entidades con ciertos componentes. */
+public interface EntitySystem {
+    void update(EntityWorld world, float delta);
+}
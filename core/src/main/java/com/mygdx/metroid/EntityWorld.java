@@ -0,0 +1,202 @@
+package com.mygdx.metroid;
+
+import java.util.Arrays;
+
+/**
+ * Entidades de juego (enemigos, proyectiles, objetos) con sus componentes en arrays primitivos,
+ * igual que {@link WallStore} con las paredes. Una entidad es un índice; la máscara dice qué
+ * componentes tiene, y los sistemas recorren solo la lista compacta de entidades vivas.
+ * Crear y destruir no reserva memoria salvo cuando hay que crecer.
+ * No usa texturas ni Gdx, así que vive dentro de {@link Simulation}.
+ */
+public class EntityWorld {
+    // Componentes (bits de la máscara)
+    public static final int POSITION = 1;
+    public static final int VELOCITY = 1 << 1;
+    public static final int GRAVITY = 1 << 2;  // Le afecta la gravedad del MovementSystem
+    public static final int BODY = 1 << 3;     // Caja de colisión de width x height desde la posición
+    public static final int SOLID = 1 << 4;    // Rebota contra paredes y suelo
+    public static final int SPRITE = 1 << 5;
+    public static final int PICKUP = 1 << 6;   // Desaparece al tocar al jugador
+
+    // Valores del componente SPRITE; GameScreen asocia cada uno a una región del atlas
+    public static final int SPRITE_NONE = 0;
+    public static final int SPRITE_GEM = 1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Componentes por id de entidad; los sistemas del paquete los leen directamente
+    int[] mask;
+    float[] x;
+    float[] y;
+    float[] previousX; // Posición al inicio del último paso, para interpolar el render
+    float[] previousY;
+    float[] velocityX;
+    float[] velocityY;
+    float[] width;
+    float[] height;
+    float[] restitution; // Fracción de la velocidad que conserva al rebotar
+    int[] sprite;
+
+    // Lista compacta de vivas (alive[0..aliveCount)) y la posición de cada id en ella
+    private int[] alive;
+    private int[] aliveIndex;
+    private int aliveCount = 0;
+    // Ids libres para reutilizar
+    private int[] free;
+    private int freeCount = 0;
+    private int nextId = 0;
+
+    public EntityWorld() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /** Crea una entidad con los componentes de {@code mask} a cero y devuelve su id. */
+    public int create(int mask) {
+        int id;
+        if (freeCount > 0) {
+            id = free[--freeCount];
+        } else {
+            if (nextId == this.mask.length) grow();
+            id = nextId++;
+        }
+        this.mask[id] = mask;
+        x[id] = y[id] = previousX[id] = previousY[id] = 0f;
+        velocityX[id] = velocityY[id] = 0f;
+        width[id] = height[id] = 0f;
+        restitution[id] = 0f;
+        sprite[id] = 0;
+        aliveIndex[id] = aliveCount;
+        alive[aliveCount++] = id;
+        return id;
+    }
+
+    /**
+     * Destruye la entidad al momento: la última viva ocupa su hueco, así que quien recorra
+     * {@link #getEntity} y destruya a la vez tiene que ir de atrás hacia delante.
+     */
+    public void destroy(int id) {
+        if (!isAlive(id)) return;
+        int index = aliveIndex[id];
+        int last = alive[--aliveCount];
+        alive[index] = last;
+        aliveIndex[last] = index;
+        mask[id] = 0;
+        free[freeCount++] = id;
+    }
+
+    public boolean isAlive(int id) {
+        return id >= 0 && id < nextId && mask[id] != 0;
+    }
+
+    public boolean has(int id, int components) {
+        return (mask[id] & components) == components;
+    }
+
+    /** Número de entidades vivas. */
+    public int size() {
+        return aliveCount;
+    }
+
+    /** Id de la entidad viva número {@code index}, con index en [0, size()). */
+    public int getEntity(int index) {
+        return alive[index];
+    }
+
+    public void clear() {
+        aliveCount = 0;
+        freeCount = 0;
+        nextId = 0;
+    }
+
+    public void setPosition(int id, float x, float y) {
+        this.x[id] = previousX[id] = x;
+        this.y[id] = previousY[id] = y;
+    }
+
+    public void setVelocity(int id, float velocityX, float velocityY) {
+        this.velocityX[id] = velocityX;
+        this.velocityY[id] = velocityY;
+    }
+
+    public void setBody(int id, float width, float height, float restitution) {
+        this.width[id] = width;
+        this.height[id] = height;
+        this.restitution[id] = restitution;
+    }
+
+    public void setSprite(int id, int sprite) {
+        this.sprite[id] = sprite;
+    }
+
+    public float getX(int id) {
+        return x[id];
+    }
+
+    public float getY(int id) {
+        return y[id];
+    }
+
+    public float getVelocityX(int id) {
+        return velocityX[id];
+    }
+
+    public float getVelocityY(int id) {
+        return velocityY[id];
+    }
+
+    public float getWidth(int id) {
+        return width[id];
+    }
+
+    public float getHeight(int id) {
+        return height[id];
+    }
+
+    public int getSprite(int id) {
+        return sprite[id];
+    }
+
+    public float getInterpolatedX(int id, float alpha) {
+        return previousX[id] + (x[id] - previousX[id]) * alpha;
+    }
+
+    public float getInterpolatedY(int id, float alpha) {
+        return previousY[id] + (y[id] - previousY[id]) * alpha;
+    }
+
+    private void allocate(int capacity) {
+        mask = new int[capacity];
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        restitution = new float[capacity];
+        sprite = new int[capacity];
+        alive = new int[capacity];
+        aliveIndex = new int[capacity];
+        free = new int[capacity];
+    }
+
+    private void grow() {
+        int capacity = mask.length * 2;
+        mask = Arrays.copyOf(mask, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        restitution = Arrays.copyOf(restitution, capacity);
+        sprite = Arrays.copyOf(sprite, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        aliveIndex = Arrays.copyOf(aliveIndex, capacity);
+        free = Arrays.copyOf(free, capacity);
+    }
+}
@@ -0,0 +1,68 @@
+package com.mygdx.metroid;
+
+/**
+ * Reloj de simulación de paso fijo.
+ * Acumula el tiempo real de cada frame y ejecuta la lógica en pasos de duración
+ * constante, de forma que la física es la misma a 60 Hz, a 120 Hz o con caídas de frames.
+ */
+public class FixedTimestep {
+    /** Lógica que se ejecuta una vez por cada paso de simulación. */
+    public interface Step {
+        void step(float dt);
+    }
+
+    private final float stepTime;
+    private final int maxStepsPerFrame;
+    private float accumulator = 0f;
+    private float alpha = 0f;
+
+    /**
+     * @param stepTime duración de cada paso en segundos (por ejemplo 1/60)
+     * @param maxStepsPerFrame máximo de pasos de recuperación por frame, para no entrar en
+     *                         una espiral de la muerte tras un tirón largo
+     */
+    public FixedTimestep(float stepTime, int maxStepsPerFrame) {
+        if (stepTime <= 0f) throw new IllegalArgumentException("stepTime debe ser positivo: " + stepTime);
+        if (maxStepsPerFrame < 1) throw new IllegalArgumentException("maxStepsPerFrame debe ser >= 1: " + maxStepsPerFrame);
+        this.stepTime = stepTime;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * Suma el delta del frame al acumulador y ejecuta los pasos pendientes, como mucho
+     * {@code maxStepsPerFrame}; si queda más de un paso sin ejecutar, ese tiempo se descarta.
+     * Quien necesite que se ejecuten todos los pasos de un delta grande (tests, repeticiones)
+     * tiene que trocearlo o llamar directamente a la lógica con el paso fijo, como {@link ReplayRunner}.
+     *
+     * @return número de pasos ejecutados en esta llamada
+     */
+    public int advance(float delta, Step step) {
+        accumulator += delta;
+        int steps = 0;
+        while (accumulator >= stepTime && steps < maxStepsPerFrame) {
+            step.step(stepTime);
+            accumulator -= stepTime;
+            steps++;
+        }
+
+        // Si no nos hemos podido poner al día descartamos el tiempo sobrante: el juego se
+        // ralentiza un instante en lugar de acumular deuda para los siguientes frames.
+        if (accumulator >= stepTime) {
+            accumulator = accumulator % stepTime;
+        }
+
+        alpha = accumulator / stepTime;
+        return steps;
+    }
+
+    /** Fracción [0, 1) del siguiente paso ya transcurrida; se usa para interpolar el render. */
+    public float getAlpha() {
+        return alpha;
+    }
+
+    /** Descarta el tiempo acumulado (por ejemplo al volver de pausa). */
+    public void reset() {
+        accumulator = 0f;
+        alpha = 0f;
+    }
+}
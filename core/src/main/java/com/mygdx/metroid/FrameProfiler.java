@@ -0,0 +1,114 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+
+/**
+ * Métricas de cada frame: tiempo total, update frente a render, draw calls, cambios de textura,
+ * flushes del SpriteBatch y sprites. Guarda los últimos {@link #HISTORY} tiempos de frame para los percentiles.
+ * No reserva memoria por frame.
+ */
+public class FrameProfiler {
+    public static final int HISTORY = 240; // ~4 s a 60 FPS
+    private static final int PERCENTILE_INTERVAL = 30; // Recalcular percentiles cada medio segundo
+
+    // Último frame
+    public long frame;
+    public float frameMillis;
+    public float updateMillis;
+    public float renderMillis;
+    public int drawCalls;
+    public int textureBindings;
+    public int batchFlushes;
+    public int flushesSaved; // Vaciados que se ahorra la RenderQueue al ordenar por capa y textura
+    public int spritesDrawn;
+    public int spritesCulled;
+    public int particlesActive;
+    public int particlesDropped; // Partículas que no cupieron en el presupuesto este frame
+    public float renderScale = 1f; // Escala de la resolución interna (ver RenderScaler)
+
+    // Resumen de la ventana
+    public float p50Millis;
+    public float p95Millis;
+    public float p99Millis;
+
+    private final float[] frameTimes = new float[HISTORY];
+    private final float[] sorted = new float[HISTORY];
+    private int samples = 0;
+    private int lastBatchRenderCalls = 0;
+    private long sectionStart;
+
+    public void beginFrame() {
+        updateMillis = 0f;
+        renderMillis = 0f;
+        spritesDrawn = 0;
+        spritesCulled = 0;
+        particlesActive = 0;
+        particlesDropped = 0;
+        flushesSaved = 0;
+    }
+
+    public void beginSection() {
+        sectionStart = TimeUtils.nanoTime();
+    }
+
+    public void endUpdate() {
+        updateMillis += (TimeUtils.nanoTime() - sectionStart) / 1e6f;
+    }
+
+    public void endRender() {
+        renderMillis += (TimeUtils.nanoTime() - sectionStart) / 1e6f;
+    }
+
+    public void setParticleCounts(int active, int dropped) {
+        particlesActive = active;
+        particlesDropped = dropped;
+    }
+
+    public void setSpriteCounts(int drawn, int culled) {
+        spritesDrawn = drawn;
+        spritesCulled = culled;
+    }
+
+    /**
+     * Cierra el frame.
+     * @param glProfiler puede ser null o estar desactivado; entonces draw calls y binds quedan a 0
+     */
+    public void endFrame(float delta, GLProfiler glProfiler, SpriteBatch batch) {
+        frameMillis = delta * 1000f;
+        if (glProfiler != null && glProfiler.isEnabled()) {
+            drawCalls = glProfiler.getDrawCalls();
+            textureBindings = glProfiler.getTextureBindings();
+            glProfiler.reset();
+        } else {
+            drawCalls = 0;
+            textureBindings = 0;
+        }
+        batchFlushes = batch.totalRenderCalls - lastBatchRenderCalls;
+        lastBatchRenderCalls = batch.totalRenderCalls;
+
+        // Los primeros HISTORY frames ocupan los huecos 0..samples-1, que son los que copia computePercentiles
+        frameTimes[(int) (frame % HISTORY)] = frameMillis;
+        frame++;
+        if (samples < HISTORY) samples++;
+        if (frame % PERCENTILE_INTERVAL == 0) {
+            computePercentiles();
+        }
+    }
+
+    private void computePercentiles() {
+        System.arraycopy(frameTimes, 0, sorted, 0, samples);
+        Arrays.sort(sorted, 0, samples);
+        p50Millis = percentile(0.50f);
+        p95Millis = percentile(0.95f);
+        p99Millis = percentile(0.99f);
+    }
+
+    private float percentile(float fraction) {
+        int index = Math.min(samples - 1, (int) Math.ceil(fraction * samples) - 1);
+        return sorted[Math.max(0, index)];
+    }
+}
@@ -0,0 +1,8 @@
+package com.mygdx.metroid;
+
+/** Destino de la traza de frames (en escritorio, un CSV). Se llama una vez por frame desde el hilo de render. */
+public interface FrameTraceSink {
+    void onFrame(FrameProfiler profiler);
+
+    void close();
+}
@@ -0,0 +1,134 @@
+package com.mygdx.metroid;
+
+/**
+ * Efectos de sonido con un número fijo de voces y la música del juego. Si todas las voces están
+ * sonando, un efecto nuevo le quita la suya al de menor prioridad (a igualdad, al que antes iba a
+ * acabar); si todas tienen más prioridad que él, no suena y se cuenta en {@link #getDroppedCount()}.
+ * Además cada efecto tiene un intervalo mínimo entre repeticiones para que no se amontonen.
+ * Las voces son arrays primitivos: {@link #play} no crea objetos ni toca disco, se puede llamar en
+ * cada salto. Como con las partículas, el tiempo avanza con el frame ({@link #update}).
+ */
+public class GameAudio {
+    public static final int JUMP = 0;
+    public static final int WALL = 1;
+    public static final int BOUNCE = 2;
+    public static final int PICKUP = 3;
+    static final int EFFECT_COUNT = 4;
+
+    // Por efecto: prioridad (la mayor gana), duración en segundos (la de su .wav en assets/Sounds),
+    // volumen e intervalo mínimo entre dos reproducciones
+    private static final int[] PRIORITY = {1, 0, 2, 3};
+    private static final float[] DURATION = {0.14f, 0.09f, 0.18f, 0.25f};
+    private static final float[] VOLUME = {0.8f, 0.7f, 0.9f, 1f};
+    private static final float[] MIN_INTERVAL = {0.05f, 0.08f, 0.05f, 0.03f};
+
+    // Menos voces que fuentes tiene OpenAL (16) o SoundPool en Android: el límite es siempre el nuestro
+    public static final int DEFAULT_VOICES = 4;
+    private static final float MUSIC_VOLUME = 0.35f;
+
+    private final AudioBackend backend;
+    private final int[] voiceEffect;
+    private final long[] voiceId;
+    private final float[] voiceEnd; // Cuándo deja de sonar; hasta entonces la voz está ocupada
+    private final float[] lastPlayed = new float[EFFECT_COUNT];
+    private float time = 0f;
+    private int stolen = 0;
+    private int dropped = 0;
+
+    public GameAudio(AudioBackend backend, int voices) {
+        this.backend = backend;
+        voiceEffect = new int[voices];
+        voiceId = new long[voices];
+        voiceEnd = new float[voices];
+        for (int i = 0; i < EFFECT_COUNT; i++) {
+            lastPlayed[i] = -MIN_INTERVAL[i];
+        }
+    }
+
+    /** Avanza el reloj de las voces. */
+    public void update(float delta) {
+        time += delta;
+    }
+
+    /**
+     * Reproduce {@code effect} si queda voz o puede quitársela a otro de menor prioridad.
+     *
+     * @param pan -1 (izquierda) a 1 (derecha)
+     */
+    public void play(int effect, float pan) {
+        if (time - lastPlayed[effect] < MIN_INTERVAL[effect]) return;
+        int voice = findVoice(PRIORITY[effect]);
+        if (voice < 0) {
+            dropped++;
+            return;
+        }
+        if (voiceEnd[voice] > time) {
+            backend.stop(voiceEffect[voice], voiceId[voice]);
+            stolen++;
+        }
+        long id = backend.play(effect, VOLUME[effect], 1f, pan);
+        if (id == -1) {
+            voiceEnd[voice] = 0f;
+            dropped++;
+            return;
+        }
+        voiceEffect[voice] = effect;
+        voiceId[voice] = id;
+        voiceEnd[voice] = time + DURATION[effect];
+        lastPlayed[effect] = time;
+    }
+
+    /** Una voz libre, o la que se puede quitar para un efecto de {@code priority}; -1 si no hay. */
+    private int findVoice(int priority) {
+        int victim = -1;
+        for (int v = 0; v < voiceEnd.length; v++) {
+            if (voiceEnd[v] <= time) return v;
+            int voicePriority = PRIORITY[voiceEffect[v]];
+            if (voicePriority > priority) continue;
+            if (victim < 0) {
+                victim = v;
+                continue;
+            }
+            int victimPriority = PRIORITY[voiceEffect[victim]];
+            if (voicePriority < victimPriority || (voicePriority == victimPriority && voiceEnd[v] < voiceEnd[victim])) {
+                victim = v;
+            }
+        }
+        return victim;
+    }
+
+    /** Para todos los efectos que sigan sonando. */
+    public void stopAll() {
+        for (int v = 0; v < voiceEnd.length; v++) {
+            if (voiceEnd[v] > time) backend.stop(voiceEffect[v], voiceId[v]);
+            voiceEnd[v] = 0f;
+        }
+    }
+
+    public void playMusic() {
+        backend.playMusic(MUSIC_VOLUME);
+    }
+
+    public void pauseMusic() {
+        backend.pauseMusic();
+    }
+
+    /** Voces sonando ahora mismo. */
+    public int getActiveVoices() {
+        int active = 0;
+        for (float end : voiceEnd) {
+            if (end > time) active++;
+        }
+        return active;
+    }
+
+    /** Efectos que cortaron a otro de igual o menor prioridad. */
+    public int getStolenCount() {
+        return stolen;
+    }
+
+    /** Efectos que no sonaron por falta de voz. */
+    public int getDroppedCount() {
+        return dropped;
+    }
+}
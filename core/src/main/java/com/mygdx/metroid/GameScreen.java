@@ -1,5 +1,6 @@
 package com.mygdx.metroid;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.ScreenAdapter;
@@ -7,179 +8,419 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+import java.io.IOException;
+import java.io.OutputStream;
 
 
 public class GameScreen extends ScreenAdapter {
     private Main game;
     private SpriteBatch batch;
     private OrthographicCamera camera; // Cámara dinámica (se mueve con el jugador)
-    private OrthographicCamera fixedCamera; // Cámara fija para el fondo
+    private Viewport viewport; // Mantiene el mundo de 400x800 en cualquier pantalla, con bandas si hace falta
+    private RenderScaler renderScaler; // Resolución interna; en móviles baja sola si no llegamos a 60 FPS
+    private Simulation simulation; // Lógica del juego, sin gráficos
     private Player player;
-    private Array<Platform> platforms;
-    private Texture groundTexture;
-    private Texture backgroundTexture; // Textura de fondo
-    private Texture wallTexture; // Usada para las plataformas que hacen de pared
-
-    // Conjuntos de plataformas para las paredes
-    private Array<Platform> leftWallPlatforms;
-    private Array<Platform> rightWallPlatforms;
-
-    private final float SCREEN_WIDTH = 400;
+    // Las texturas son del AssetManager de Main: aquí solo se usan, no se liberan.
+    // El fondo es demasiado grande para el atlas y lo dibuja ParallaxBackground
+    private final ParallaxBackground background = new ParallaxBackground();
+
+    // Todo lo demás sale de un único atlas, así el lote de juego no cambia de textura
+    private TextureAtlas atlas;
+    private TextureRegion groundRegion;
+    private TextureRegion wallRegion; // Usada para las plataformas que hacen de pared
+    private PlayerAnimations playerAnimations; // Frames del jugador según su pose
+    private final EntityRenderer entityRenderer = new EntityRenderer();
+
+    // Lo dinámico se encola y se dibuja ordenado por capa y textura; el suelo y las paredes no cambian,
+    // así que cada tramo se sube una vez a la GPU y se dibuja con una llamada
+    private final RenderQueue renderQueue = new RenderQueue(256);
+    private ChunkMeshCache chunkMeshes;
+
+    // Polvo al pegarse a una pared y chispas al rebotar en el aire; presupuesto fijo de partículas
+    private static final int PARTICLE_BUDGET = 512;
+    private final ParticleSystem particles = new ParticleSystem(PARTICLE_BUDGET);
+    private TextureRegion particleRegion;
+    private Player.PlayerState previousState;
+    private boolean previousAirBounced;
+
+    // Efectos con voces limitadas y música en streaming; los sonidos son del AssetManager de Main
+    private final GameAudio audio;
+    private int previousPickups;
+
+    private final float SCREEN_WIDTH = Simulation.WORLD_WIDTH;
     private final float SCREEN_HEIGHT = 800;
 
-    private final float WALL_GAP = 200f;
+    // El fondo sube a una quinta parte de la velocidad de la cámara
+    private static final float BACKGROUND_PARALLAX = 0.2f;
+
+    // Simulación a paso fijo: 60 pasos por segundo y como mucho 5 pasos de recuperación por frame
+    private static final float SIMULATION_STEP = 1f / 60f;
+    private static final int MAX_STEPS_PER_FRAME = 5;
+    private final FixedTimestep timestep = new FixedTimestep(SIMULATION_STEP, MAX_STEPS_PER_FRAME);
+    private final FixedTimestep.Step updateStep = this::update;
+
+    // El toque se detecta por frame pero se consume en el siguiente paso de simulación
+    private boolean pendingTap = false;
+    private final InputSnapshot input = new InputSnapshot();
+
+    // Grabamos la entrada de cada paso; al acabar la partida o salir se guarda (en Main.getDataFile) para
+    // poder reproducirla sin pantalla. Una partida continuada se graba desde su instantánea
+    private static final String REPLAY_FILE = "replays/last.mrp";
+    private final ReplayRecorder recorder = new ReplayRecorder();
+
+    // Al pausar (Android puede matar la app después) se guarda la partida, y al entrar se continúa.
+    // Cuando la partida acaba se borra y la siguiente empieza desde el suelo
+    private static final String SNAPSHOT_FILE = "saves/last.mts";
+    private final SnapshotFile snapshotFile;
+    // Ni partida guardada ni grabación con niveles de fichero (las grabaciones reproducen torres por
+    // semilla) ni sin persistencia (Main.setPersistent, p. ej. en el benchmark de arranque)
+    private final boolean saving;
+    private final SimulationSnapshot snapshot = new SimulationSnapshot();
+
+    // Margen del culling: la rotación (±5°) y la escala (hasta 1.05) sacan el sprite un poco de su hitbox
+    private static final float CULL_MARGIN = Simulation.WALL_TILE_SIZE / 2;
+    private final RenderStats renderStats = new RenderStats();
+    private float statsLogTimer = 0f;
+
+    // Seguimiento de la cámara en el paso fijo; el render la interpola como al jugador
+    private final CameraController cameraController = new CameraController(SCREEN_HEIGHT);
 
     public GameScreen(Main game) {
         this.game = game;
         this.batch = game.batch;
+        snapshotFile = new SnapshotFile(game.getDataFile(SNAPSHOT_FILE));
+        saving = game.isPersistent() && game.getTowerFile() == null;
 
-        // Cargamos la imagen de fondo
-        backgroundTexture = new Texture("Background/3.png");
+        // La imagen de fondo y el atlas ya los ha cargado LoadingScreen.
+        // Las imágenes de assets/Background son opacas y a pantalla completa: apilar varias solo
+        // añadiría overdraw, así que de momento hay una única capa
+        background.addLayer(game.manager.get(Assets.BACKGROUND, Texture.class), BACKGROUND_PARALLAX, SCREEN_HEIGHT);
 
         // Configuramos la cámara dinámica para el juego
         camera = new OrthographicCamera();
         camera.setToOrtho(false, SCREEN_WIDTH, SCREEN_HEIGHT);
         camera.position.set(SCREEN_WIDTH / 2, SCREEN_HEIGHT / 2, 0);
         camera.update();
+        viewport = new FitViewport(SCREEN_WIDTH, SCREEN_HEIGHT, camera);
+        renderScaler = new RenderScaler(game.isDynamicRenderScale());
+
+        // Buscamos las regiones del atlas una sola vez
+        atlas = game.manager.get(Assets.ATLAS, TextureAtlas.class);
+        groundRegion = findRegion(Assets.REGION_GROUND);
+        wallRegion = findRegion(Assets.REGION_WALL);
+        playerAnimations = new PlayerAnimations(atlas, Gdx.files.internal(Assets.PLAYER_ANIMATIONS));
+        entityRenderer.setRegion(EntityWorld.SPRITE_GEM, findRegion(Assets.REGION_GEM));
+        particleRegion = findRegion(Assets.REGION_PARTICLE);
+        audio = new GameAudio(game.isMuted() ? AudioBackend.NONE : new GdxAudioBackend(game.manager), GameAudio.DEFAULT_VOICES);
+
+        // La simulación crea al jugador sobre el suelo y genera la torre por tramos según se sube;
+        // con un nivel de fichero los tramos se leen de él
+        String towerFile = game.getTowerFile();
+        boolean resumed = false;
+        if (towerFile != null) {
+            simulation = new Simulation(TowerLayout.open(Gdx.files.absolute(towerFile)));
+        } else {
+            boolean saved = saving && snapshotFile.load(snapshot);
+            // La torre se genera en otro hilo, por delante, para que no cueste tiempo de frame
+            simulation = new Simulation(saved ? snapshot.seed : MathUtils.random.nextLong(), TowerParameters.DEFAULT, true);
+            resumed = saved && resumeSnapshot();
+        }
+        player = simulation.getPlayer();
+        // La cámara no baja de donde se ve el suelo; al continuar una partida empieza ya sobre el jugador
+        cameraController.setBounds(SCREEN_HEIGHT / 2, Float.MAX_VALUE);
+        cameraController.reset(player.position.y);
+        chunkMeshes = new ChunkMeshCache(simulation.getLeftWalls(), simulation.getRightWalls(), wallRegion,
+            groundRegion, SCREEN_WIDTH);
+        if (resumed) {
+            recorder.begin(snapshot, SIMULATION_STEP);
+        } else {
+            recorder.begin(simulation.getSeed(), SIMULATION_STEP);
+        }
+        previousPickups = simulation.getPickupsCollected();
+    }
 
-        // Configuramos la cámara fija para el fondo
-        fixedCamera = new OrthographicCamera();
-        fixedCamera.setToOrtho(false, SCREEN_WIDTH, SCREEN_HEIGHT);
-        fixedCamera.update();
+    @Override
+    public void show() {
+        audio.playMusic();
+    }
 
-        // Cargamos la textura para el suelo (opcional)
-        groundTexture = new Texture("PNG/Tiles/platformPack_tile015.png");
+    @Override
+    public void render(float delta) {
+        // Limpiar la pantalla entera (incluidas las bandas fuera del viewport)
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        renderScaler.update(delta);
 
-        // Creamos al jugador, centrado horizontalmente sobre el suelo
-        float playerWidth = new Texture("PNG/Characters/platformChar_happy.png").getWidth();
-        float playerX = (SCREEN_WIDTH - playerWidth) / 2;
-        float playerY = groundTexture.getHeight(); // Inicia justo sobre el suelo
-        player = new Player(playerX, playerY);
+        // Guardamos el toque aunque en este frame no toque ejecutar ningún paso. El toque con tres
+        // dedos abre o cierra el overlay de métricas (Main): no es un salto ni entra en la grabación
+        if (Gdx.input.justTouched() && !Gdx.input.isTouched(2)) {
+            pendingTap = true;
+        }
+        // En escritorio, N abandona la partida y empieza otra
+        if (Gdx.input.isKeyJustPressed(Input.Keys.N)) {
+            startNewRun();
+        }
 
-        // Cargamos la textura para las paredes (tiles de pared)
-        wallTexture = new Texture("PNG/Tiles/platformPack_tile033.png");
+        FrameProfiler profiler = game.profiler;
+        profiler.beginSection();
+        timestep.advance(delta, updateStep);
+        profiler.endUpdate();
+        float alpha = timestep.getAlpha();
 
-        // Generamos plataformas para las paredes (por ejemplo, 20 segmentos para cubrir una gran altura)
-        leftWallPlatforms = new Array<>();
-        rightWallPlatforms = new Array<>();
+        profiler.beginSection();
 
-        float currentY = 0f;
-        int numWallSegments = 50;
+        camera.position.y = cameraController.getY(alpha);
+        camera.update();
+        renderScaler.begin(viewport);
 
-        for (int i = 0; i < numWallSegments; i++) {
-            // Separación vertical aleatoria
-            float verticalGap = MathUtils.random(120f, 250f);
-            currentY += verticalGap;
+        // Lo dinámico se encola con la cámara dinámica y se dibuja ordenado por capa y textura
+        renderQueue.begin();
+        float visibleMinY = cameraController.getVisibleMinY(alpha) - CULL_MARGIN;
+        float visibleMaxY = cameraController.getVisibleMaxY(alpha) + CULL_MARGIN;
 
-            // Probabilidad de generar plataformas en uno u otro lado
-            boolean spawnLeft = MathUtils.randomBoolean(0.9f);  // 90% de probabilidad de que haya en la izquierda
-            boolean spawnRight = MathUtils.randomBoolean(0.9f); // 90% de probabilidad de que haya en la derecha
+        // Entidades (objetos, enemigos...) por detrás del jugador
+        int culledEntities = entityRenderer.draw(renderQueue, simulation.getEntities(), alpha, visibleMinY, visibleMaxY);
 
-            // Offset vertical adicional aleatorio entre lados
-            float offsetY = MathUtils.random(-60f, 80f);
+        // Dibujar al jugador
+        TextureRegion playerRegion = playerAnimations.getFrame(player);
+        renderQueue.draw(RenderQueue.LAYER_PLAYER, playerRegion, player.getInterpolatedX(alpha), player.getInterpolatedY(alpha),
+            playerRegion.getRegionWidth(), playerRegion.getRegionHeight());
+
+        // Las partículas son solo visuales: avanzan con el tiempo del frame, no con la simulación
+        particles.update(delta);
+        particles.draw(renderQueue, particleRegion);
+        audio.update(delta);
+
+        // Fondo, suelo y paredes en el pase de meshes, con la misma cámara; encima, todo lo demás en un
+        // único begin/end del lote
+        chunkMeshes.begin(camera.combined);
+        int sprites = background.draw(chunkMeshes, camera);
+        drawStaticGeometry(visibleMinY, visibleMaxY);
+        chunkMeshes.end();
+        logRenderStats(delta);
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+        sprites += renderQueue.flush(batch);
+        batch.end();
+        renderScaler.end(batch, viewport);
+
+        // Los tiles de los tramos visibles cuentan como dibujados aunque no pasen por el lote
+        profiler.setSpriteCounts(sprites + renderStats.drawnSprites, renderStats.culledSprites + culledEntities);
+        profiler.flushesSaved = renderQueue.getFlushesSaved();
+        profiler.setParticleCounts(particles.getActiveCount(), particles.getDroppedCount());
+        profiler.renderScale = renderScaler.getScale();
+        particles.resetDropped();
+        profiler.endRender();
+    }
 
-            if (spawnLeft) {
-                leftWallPlatforms.add(new Platform(0, currentY, wallTexture, true));
+    /**
+     * Dibuja el suelo y los tramos de pared que cortan [minY, maxY], una llamada por tramo. El culling es
+     * por tramo: dentro de uno visible se dibujan todos sus tiles, que ya están en la GPU.
+     * Va entre {@link ChunkMeshCache#begin} y {@link ChunkMeshCache#end}.
+     */
+    private void drawStaticGeometry(float minY, float maxY) {
+        renderStats.reset();
+        if (minY < groundRegion.getRegionHeight()) {
+            chunkMeshes.drawGround();
+        }
+        Array<TowerChunk> chunks = simulation.getChunks();
+        for (int i = 0; i < chunks.size; i++) {
+            TowerChunk chunk = chunks.get(i);
+            if (chunk.topY < minY || chunk.bottomY > maxY) {
+                renderStats.culledSprites += chunk.getWallCount();
+                continue;
             }
+            chunkMeshes.draw(chunk);
+            renderStats.drawnSprites += chunk.getWallCount();
+        }
+    }
 
-            if (spawnRight) {
-                rightWallPlatforms.add(new Platform(SCREEN_WIDTH - wallTexture.getWidth(), currentY + offsetY, wallTexture, false));
-            }
+    /** Escribe los contadores de culling una vez por segundo (nivel debug). */
+    private void logRenderStats(float delta) {
+        statsLogTimer += delta;
+        if (statsLogTimer >= 1f) {
+            statsLogTimer = 0f;
+            if (Gdx.app.getLogLevel() < Application.LOG_DEBUG) return;
+            Gdx.app.debug("GameScreen", "walls drawn: " + renderStats.drawnSprites
+                + ", culled: " + renderStats.culledSprites + ", chunk meshes: " + chunkMeshes.getMeshCount()
+                + ", baked: " + chunkMeshes.getBakedCount());
         }
     }
 
-    @Override
-    public void render(float delta) {
-        // Limpiar la pantalla
-        Gdx.gl.glClearColor(0, 0, 0, 1);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    public RenderStats getRenderStats() {
+        return renderStats;
+    }
 
-        update(delta);
-        camera.update();
+    /** Cola de dibujo del juego; sus contadores dicen cuántos vaciados del lote se ahorran al ordenar. */
+    public RenderQueue getRenderQueue() {
+        return renderQueue;
+    }
 
-        // Dibujar el fondo usando la cámara fija
-        batch.setProjectionMatrix(fixedCamera.combined);
-        batch.begin();
-        batch.draw(backgroundTexture, 0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
-        batch.end();
+    private TextureRegion findRegion(String name) {
+        TextureRegion region = atlas.findRegion(name);
+        if (region == null) {
+            throw new GdxRuntimeException("Región '" + name + "' no encontrada en " + Assets.ATLAS
+                + "; ejecuta la tarea de Gradle packTextures");
+        }
+        return region;
+    }
 
-        // Dibujar los elementos del juego usando la cámara dinámica
-        batch.setProjectionMatrix(camera.combined);
-        batch.begin();
-        // Dibujar el suelo (opcional)
-        batch.draw(groundTexture, 0, 0, SCREEN_WIDTH, groundTexture.getHeight());
+    /** Un paso de simulación de duración fija. */
+    private void update(float delta) {
+        input.set(pendingTap, Gdx.input.isTouched());
+        pendingTap = false;
+
+        recorder.record(input);
+        previousState = player.currentState;
+        previousAirBounced = player.hasAirBounced;
+        simulation.step(delta, input);
+        if (simulation.isRunOver()) {
+            startNewRun();
+            return;
+        }
+        emitImpactParticles();
+        playEffects();
 
-        // Dibujar las plataformas de la pared izquierda con rotación 90° + variación única
-        for (Platform wall : leftWallPlatforms) {
-            wall.draw(batch);
+        // La cámara sigue al jugador verticalmente, adelantándose a su velocidad, y lo que vaya
+        // a enseñar tiene que estar generado aunque el adelanto lo lleve más allá de STREAM_AHEAD
+        cameraController.update(delta, player.position.y, player.velocity.y);
+        simulation.streamTo(cameraController.getVisibleMaxY(1f) + CULL_MARGIN);
+    }
+
+    /** Lanza polvo cuando el jugador se acaba de pegar a una pared y chispas cuando acaba de rebotar. */
+    private void emitImpactParticles() {
+        float centerY = player.position.y + Player.HEIGHT / 2;
+        if (player.currentState != previousState) {
+            if (player.currentState == Player.PlayerState.ON_WALL_LEFT) {
+                particles.emit(ParticleSystem.DUST, player.position.x, centerY, 12, 0f, 120f, 40f, 160f, 0.5f);
+            } else if (player.currentState == Player.PlayerState.ON_WALL_RIGHT) {
+                particles.emit(ParticleSystem.DUST, player.position.x + Player.WIDTH, centerY, 12, 180f, 120f, 40f, 160f, 0.5f);
+            }
+        }
+        if (player.hasAirBounced && !previousAirBounced) {
+            particles.emit(ParticleSystem.SPARK, player.position.x + Player.WIDTH / 2, player.position.y, 16,
+                -90f, 160f, 120f, 320f, 0.4f);
         }
+    }
 
-        for (Platform wall : rightWallPlatforms) {
-            wall.draw(batch);
+    /** Suena el salto, el golpe contra la pared, el rebote o la recogida que haya pasado en este paso. */
+    private void playEffects() {
+        // Izquierda/derecha según dónde esté el jugador, sin llegar a sonar por un solo lado
+        float pan = ((player.position.x + Player.WIDTH / 2) / SCREEN_WIDTH * 2f - 1f) * 0.6f;
+        if (input.justTouched && previousState != Player.PlayerState.IN_AIR) {
+            audio.play(GameAudio.JUMP, pan);
+        }
+        if (player.currentState != previousState
+            && (player.currentState == Player.PlayerState.ON_WALL_LEFT || player.currentState == Player.PlayerState.ON_WALL_RIGHT)) {
+            audio.play(GameAudio.WALL, pan);
+        }
+        if (player.hasAirBounced && !previousAirBounced) {
+            audio.play(GameAudio.BOUNCE, pan);
+        }
+        int pickups = simulation.getPickupsCollected();
+        if (pickups > previousPickups) {
+            audio.play(GameAudio.PICKUP, pan);
         }
+        previousPickups = pickups;
+    }
 
-        // Dibujar al jugador
-        batch.draw(player.getTexture(), player.position.x, player.position.y);
-        batch.end();
+    /**
+     * Continúa la partida guardada; si no corresponde a su torre se descarta y se empieza de cero.
+     *
+     * @return si se ha continuado
+     */
+    private boolean resumeSnapshot() {
+        try {
+            simulation.restore(snapshot);
+            return true;
+        } catch (IllegalArgumentException e) {
+            Gdx.app.error("GameScreen", "Partida guardada inválida, se empieza de nuevo", e);
+            simulation.reset();
+            snapshotFile.delete();
+            return false;
+        }
     }
 
-    private void update(float delta) {
-        // Detectar toque en pantalla para ejecutar la acción de salto
-        if (Gdx.input.justTouched()) {
-            player.onTap();
+    /**
+     * Acaba la partida actual y empieza otra desde el suelo: se guarda su grabación, se borra la partida
+     * guardada y se genera una torre nueva. Los niveles de fichero vuelven a empezar el mismo nivel.
+     */
+    private void startNewRun() {
+        if (saving) {
+            saveReplay();
+            snapshotFile.delete();
+        }
+        if (game.getTowerFile() == null) {
+            simulation.reset(MathUtils.random.nextLong());
+        } else {
+            simulation.reset();
         }
+        recorder.begin(simulation.getSeed(), SIMULATION_STEP);
+        cameraController.reset(player.position.y);
+        previousState = player.currentState;
+        previousAirBounced = player.hasAirBounced;
+        previousPickups = 0;
+        pendingTap = false;
+        timestep.reset();
+    }
 
-        // Actualizar al jugador
-        player.update(delta);
+    @Override
+    public void pause() {
+        audio.stopAll();
+        audio.pauseMusic();
+        if (!saving) return;
+        simulation.save(snapshot);
+        snapshotFile.save(snapshot);
+    }
 
-        // Comprobar colisión del jugador con las plataformas que hacen de pared
+    @Override
+    public void resume() {
+        timestep.reset();
+        audio.playMusic();
+    }
 
-        // Para la pared izquierda: queremos que el jugador se "pegue" en el borde derecho del tile
-        for (Platform wall : leftWallPlatforms) {
-            if (player.bounds.overlaps(wall.bounds)) {
-                float newX = wall.position.x + wall.getTexture().getWidth();
-                player.position.x = newX;
-                player.bounds.setPosition(player.position.x, player.position.y);
-                player.currentState = Player.PlayerState.ON_WALL_LEFT;
-                player.hasAirBounced = false;
-                break;
-            }
-        }
+    @Override
+    public void hide() {
+        audio.stopAll();
+        audio.pauseMusic();
+    }
 
-        // Para la pared derecha: queremos que el lado derecho del jugador se alinee al borde izquierdo del tile
-        for (Platform wall : rightWallPlatforms) {
-            if (player.bounds.overlaps(wall.bounds)) {
-                float newX = wall.position.x - player.getTexture().getWidth();
-                player.position.x = newX;
-                player.bounds.setPosition(player.position.x, player.position.y);
-                player.currentState = Player.PlayerState.ON_WALL_RIGHT;
-                player.hasAirBounced = false;
-                break;
-            }
+    /** Guarda la grabación de la partida actual en {@link Main#getDataFile}. */
+    private void saveReplay() {
+        OutputStream output = null;
+        try {
+            output = game.getDataFile(REPLAY_FILE).write(false);
+            recorder.finish(simulation).write(output);
+        } catch (IOException | GdxRuntimeException e) {
+            Gdx.app.error("GameScreen", "No se pudo guardar la grabación en " + REPLAY_FILE, e);
+        } finally {
+            StreamUtils.closeQuietly(output);
         }
+    }
 
-        // Actualizar la cámara para que siga al jugador verticalmente
-        float minCameraY = SCREEN_HEIGHT / 2;
-        float targetY = Math.max(player.position.y, minCameraY);
-        camera.position.y = MathUtils.lerp(camera.position.y, targetY, 0.1f);
+    @Override
+    public void resize(int width, int height) {
+        // La cámara la coloca update(); el viewport solo ajusta su tamaño y las bandas
+        viewport.update(width, height, false);
     }
 
     @Override
     public void dispose() {
-        player.dispose();
-        if (groundTexture != null) {
-            groundTexture.dispose();
-            groundTexture = null;
-        }
-        if (backgroundTexture != null) {
-            backgroundTexture.dispose();
-            backgroundTexture = null;
-        }
-        if (wallTexture != null) {
-            wallTexture.dispose();
-            wallTexture = null;
-        }
+        if (saving) saveReplay();
+        snapshotFile.dispose();
+        simulation.dispose();
+        chunkMeshes.dispose();
+        renderScaler.dispose();
+        // Las texturas las libera Main.manager; solo soltamos la referencia
+        atlas = null;
     }
 }
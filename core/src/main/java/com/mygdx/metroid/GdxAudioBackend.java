@@ -0,0 +1,44 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+
+/**
+ * Audio de libGDX con los assets ya cargados en el {@link AssetManager} de {@link Main}: los efectos son
+ * {@link Sound} (decodificados en memoria al cargar, así que reproducirlos no lee disco) y la música es
+ * {@link Music}, que se decodifica a trozos mientras suena. Los libera el AssetManager, no esta clase.
+ */
+public class GdxAudioBackend implements AudioBackend {
+    private final Sound[] sounds = new Sound[GameAudio.EFFECT_COUNT];
+    private final Music music;
+
+    public GdxAudioBackend(AssetManager manager) {
+        for (int i = 0; i < sounds.length; i++) {
+            sounds[i] = manager.get(Assets.SOUNDS[i], Sound.class);
+        }
+        music = manager.get(Assets.MUSIC, Music.class);
+        music.setLooping(true);
+    }
+
+    @Override
+    public long play(int effect, float volume, float pitch, float pan) {
+        return sounds[effect].play(volume, pitch, pan);
+    }
+
+    @Override
+    public void stop(int effect, long voice) {
+        sounds[effect].stop(voice);
+    }
+
+    @Override
+    public void playMusic(float volume) {
+        music.setVolume(volume);
+        if (!music.isPlaying()) music.play();
+    }
+
+    @Override
+    public void pauseMusic() {
+        music.pause();
+    }
+}
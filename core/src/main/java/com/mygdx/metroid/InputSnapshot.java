@@ -0,0 +1,21 @@
+package com.mygdx.metroid;
+
+/**
+ * Estado de la entrada para un paso de simulación.
+ * Se rellena desde Gdx.input en el juego, o desde un script/grabación sin pantalla.
+ */
+public class InputSnapshot {
+    public boolean justTouched; // Toque nuevo desde el paso anterior
+    public boolean touched;     // El toque sigue pulsado
+
+    public InputSnapshot set(boolean justTouched, boolean touched) {
+        this.justTouched = justTouched;
+        this.touched = touched;
+        return this;
+    }
+
+    public void clear() {
+        justTouched = false;
+        touched = false;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.ScreenAdapter;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Pantalla de carga: avanza el {@link AssetManager} unos milisegundos por frame y dibuja el progreso.
+ * No necesita ningún asset (la barra se pinta con {@link ShapeRenderer}).
+ */
+public class LoadingScreen extends ScreenAdapter {
+    // Tiempo máximo por frame que dedicamos a subir texturas en el hilo de render
+    private static final int UPDATE_BUDGET_MILLIS = 16;
+
+    private static final float SCREEN_WIDTH = Simulation.WORLD_WIDTH;
+    private static final float SCREEN_HEIGHT = 800;
+    private static final float BAR_WIDTH = 300;
+    private static final float BAR_HEIGHT = 20;
+
+    private final Main game;
+    private final OrthographicCamera camera;
+    private final Viewport viewport;
+    private final ShapeRenderer shapes;
+
+    public LoadingScreen(Main game) {
+        this.game = game;
+        camera = new OrthographicCamera();
+        camera.setToOrtho(false, SCREEN_WIDTH, SCREEN_HEIGHT);
+        viewport = new FitViewport(SCREEN_WIDTH, SCREEN_HEIGHT, camera);
+        shapes = new ShapeRenderer();
+    }
+
+    @Override
+    public void render(float delta) {
+        AssetManager manager = game.manager;
+
+        // update() devuelve true cuando ha terminado todo lo encolado
+        if (manager.update(UPDATE_BUDGET_MILLIS)) {
+            game.setScreen(new GameScreen(game));
+            dispose();
+            return;
+        }
+
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        viewport.apply();
+        float x = (SCREEN_WIDTH - BAR_WIDTH) / 2;
+        float y = (SCREEN_HEIGHT - BAR_HEIGHT) / 2;
+        shapes.setProjectionMatrix(camera.combined);
+        shapes.begin(ShapeRenderer.ShapeType.Filled);
+        shapes.setColor(Color.DARK_GRAY);
+        shapes.rect(x, y, BAR_WIDTH, BAR_HEIGHT);
+        shapes.setColor(Color.WHITE);
+        shapes.rect(x, y, BAR_WIDTH * manager.getProgress(), BAR_HEIGHT);
+        shapes.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override
+    public void dispose() {
+        shapes.dispose();
+    }
+}
@@ -1,32 +1,171 @@
 package com.mygdx.metroid;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
 import com.badlogic.gdx.utils.ScreenUtils;
 
 public class Main extends Game {
     public AssetManager manager;
     public SpriteBatch batch;
-    public OrthographicCamera camera;
+
+    // Métricas por frame; las pantallas marcan sus tramos de update y render
+    public final FrameProfiler profiler = new FrameProfiler();
+    private GLProfiler glProfiler;
+    private ProfilerOverlay profilerOverlay;
+    private boolean profilerOverlayVisible = false;
+    private FrameTraceSink frameTraceSink;
+    private Runnable frameListener;
+
+    // Bajar la resolución interna si no se llega a 60 FPS (en Android); en escritorio se dibuja a resolución nativa
+    private boolean dynamicRenderScale = false;
+
+    // Nivel hecho a mano en lugar de la torre generada (ruta absoluta o relativa al directorio de trabajo)
+    private String towerFile;
+
+    // Grabaciones y partidas guardadas; null = almacenamiento local (en Android, el interno de la app).
+    // En escritorio el directorio de trabajo es assets/, así que el launcher pone uno fuera del árbol de assets
+    private String dataDirectory;
+
+    // Sin persistencia no se continúa la partida guardada ni se escriben partidas ni grabaciones
+    private boolean persistent = true;
+
+    // Sin sonido se usa AudioBackend.NONE (los assets de audio se cargan igual)
+    private boolean muted = false;
+
+    // Solo en escritorio y bajo demanda: mide los bytes reservados por frame
+    private AllocationMonitor allocationMonitor;
+
+    /** Activa el log de bytes reservados por frame. Hay que llamarlo antes de arrancar la aplicación. */
+    public void setAllocationCounter(AllocationCounter counter) {
+        allocationMonitor = counter == null ? null : new AllocationMonitor(counter);
+    }
+
+    /** Vuelca las métricas de cada frame en {@code sink}. Hay que llamarlo antes de arrancar la aplicación. */
+    public void setFrameTraceSink(FrameTraceSink sink) {
+        frameTraceSink = sink;
+    }
+
+    /**
+     * Llama a {@code listener} al final de cada frame. A diferencia de {@link #setFrameTraceSink} no activa
+     * GLProfiler, así que no cambia lo que se mide. Hay que llamarlo antes de arrancar la aplicación.
+     */
+    public void setFrameListener(Runnable listener) {
+        frameListener = listener;
+    }
+
+    /** Juega el nivel de {@code path} (formato {@link TowerLayout}). Hay que llamarlo antes de arrancar la aplicación. */
+    public void setTowerFile(String path) {
+        towerFile = path;
+    }
+
+    public String getTowerFile() {
+        return towerFile;
+    }
+
+    /** Activa la escala dinámica de resolución (ver {@link RenderScaler}). Hay que llamarlo antes de arrancar la aplicación. */
+    public void setDynamicRenderScale(boolean dynamic) {
+        dynamicRenderScale = dynamic;
+    }
+
+    public boolean isDynamicRenderScale() {
+        return dynamicRenderScale;
+    }
+
+    /** Directorio (ruta absoluta) de los ficheros que escribe el juego. Hay que llamarlo antes de arrancar la aplicación. */
+    public void setDataDirectory(String path) {
+        dataDirectory = path;
+    }
+
+    /** Fichero del juego en {@code path}, relativo al directorio de datos. */
+    public FileHandle getDataFile(String path) {
+        return dataDirectory == null ? Gdx.files.local(path) : Gdx.files.absolute(dataDirectory).child(path);
+    }
+
+    /** Juega sin leer ni escribir partidas guardadas y grabaciones. Hay que llamarlo antes de arrancar la aplicación. */
+    public void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    /** Juega sin sonido. Hay que llamarlo antes de arrancar la aplicación. */
+    public void setMuted(boolean muted) {
+        this.muted = muted;
+    }
+
+    public boolean isMuted() {
+        return muted;
+    }
 
     @Override
     public void create() {
         manager = new AssetManager();
         batch = new SpriteBatch();
-        // Ajusta la cámara a una resolución vertical, por ejemplo 400x800
-        camera = new OrthographicCamera(400, 800);
-        camera.position.set(200, 400, 0);
-        camera.update();
 
-        // Iniciamos la pantalla del juego
-        setScreen(new GameScreen(this));
+        // GLProfiler intercepta las llamadas GL: solo se activa con el overlay visible o con la traza
+        glProfiler = new GLProfiler(Gdx.graphics);
+        updateGlProfiler();
+
+        // Encolamos los assets y los cargamos en segundo plano tras la pantalla de carga
+        Assets.queueGameAssets(manager);
+        setScreen(new LoadingScreen(this));
+    }
+
+    @Override
+    public void render() {
+        // F3 en escritorio o tres dedos en pantalla muestran u ocultan el overlay de métricas
+        // (GameScreen no cuenta ese toque como salto)
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3) || (Gdx.input.justTouched() && Gdx.input.isTouched(2))) {
+            profilerOverlayVisible = !profilerOverlayVisible;
+            updateGlProfiler();
+        }
+
+        if (allocationMonitor != null) allocationMonitor.beginFrame();
+        profiler.beginFrame();
+        super.render();
+        profiler.endFrame(Gdx.graphics.getDeltaTime(), glProfiler, batch);
+        if (allocationMonitor != null) allocationMonitor.endFrame(Gdx.graphics.getDeltaTime());
+
+        if (frameTraceSink != null) {
+            frameTraceSink.onFrame(profiler);
+        }
+        if (frameListener != null) {
+            frameListener.run();
+        }
+        if (profilerOverlayVisible) {
+            if (profilerOverlay == null) {
+                profilerOverlay = new ProfilerOverlay();
+            }
+            profilerOverlay.draw(batch, profiler);
+        }
+    }
+
+    private void updateGlProfiler() {
+        if (profilerOverlayVisible || frameTraceSink != null) {
+            glProfiler.enable();
+        } else {
+            glProfiler.disable();
+        }
     }
 
     @Override
     public void dispose() {
+        if (screen != null) {
+            screen.dispose();
+        }
+        if (frameTraceSink != null) {
+            frameTraceSink.close();
+        }
+        if (profilerOverlay != null) {
+            profilerOverlay.dispose();
+        }
         batch.dispose();
         manager.dispose();
     }
@@ -0,0 +1,23 @@
+package com.mygdx.metroid;
+
+/** Integra la velocidad (y la gravedad, si la tienen) de las entidades con POSITION y VELOCITY. */
+public class MovementSystem implements EntitySystem {
+    private static final int REQUIRED = EntityWorld.POSITION | EntityWorld.VELOCITY;
+
+    @Override
+    public void update(EntityWorld world, float delta) {
+        int[] mask = world.mask;
+        float[] x = world.x, y = world.y, velocityX = world.velocityX, velocityY = world.velocityY;
+        for (int i = 0, n = world.size(); i < n; i++) {
+            int id = world.getEntity(i);
+            if ((mask[id] & REQUIRED) != REQUIRED) continue;
+            world.previousX[id] = x[id];
+            world.previousY[id] = y[id];
+            if ((mask[id] & EntityWorld.GRAVITY) != 0) {
+                velocityY[id] += Player.GRAVITY * delta;
+            }
+            x[id] += velocityX[id] * delta;
+            y[id] += velocityY[id] * delta;
+        }
+    }
+}
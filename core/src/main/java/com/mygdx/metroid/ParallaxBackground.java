@@ -0,0 +1,108 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Fondo de capas con parallax vertical. Cada capa se desplaza a su propio ritmo respecto a la cámara
+ * (0 = fija en pantalla, 1 = se mueve con el mundo) y se repite en espejo hacia arriba, así el borde
+ * de arriba de la imagen empalma consigo mismo. Se dibuja en el pase de {@link ChunkMeshCache}, antes
+ * del suelo y las paredes y con la misma cámara, para no abrir otro begin/end del lote ni cambiar la proyección.
+ * Si la GPU no admite repetir texturas que no son potencia de dos (GLES 2 sin la extensión NPOT)
+ * se recorta la capa en dos quads en lugar de usar el wrap.
+ */
+public class ParallaxBackground {
+    private static class Layer {
+        Texture texture;
+        float factor;       // Fracción del desplazamiento de la cámara que sigue la capa
+        float periodHeight; // Alto en el mundo de una copia de la imagen
+        boolean wrapped;    // true → un solo quad con MirroredRepeat
+    }
+
+    private final Array<Layer> layers = new Array<>();
+    // Quads de una capa, que se mandan juntos; con la vista de una copia de alto son 2 (3 si cae justo en el borde)
+    private static final int MAX_QUADS = 4;
+    private final float[] vertices = new float[MAX_QUADS * RenderQueue.QUAD_SIZE];
+
+    /**
+     * Añade una capa por encima de las anteriores; hay que añadirlas de la más lejana a la más cercana.
+     * Cambia el wrap vertical de {@code texture}, que no debería usarse para otra cosa.
+     */
+    public void addLayer(Texture texture, float factor, float periodHeight) {
+        Layer layer = new Layer();
+        layer.texture = texture;
+        layer.factor = factor;
+        layer.periodHeight = periodHeight;
+        layer.wrapped = supportsWrap(texture);
+        if (layer.wrapped) {
+            texture.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.MirroredRepeat);
+        }
+        layers.add(layer);
+    }
+
+    private static boolean supportsWrap(Texture texture) {
+        return MathUtils.isPowerOfTwo(texture.getWidth()) && MathUtils.isPowerOfTwo(texture.getHeight())
+            || Gdx.app.getType() == Application.ApplicationType.Desktop
+            || Gdx.graphics.isGL30Available()
+            || Gdx.graphics.supportsExtension("GL_OES_texture_npot");
+    }
+
+    /**
+     * Dibuja todas las capas cubriendo la vista de {@code camera}, en general una llamada por capa; {@code meshes} tiene
+     * que estar entre begin y end con la proyección de esa cámara.
+     *
+     * @return número de quads dibujados
+     */
+    public int draw(ChunkMeshCache meshes, OrthographicCamera camera) {
+        float viewWidth = camera.viewportWidth * camera.zoom;
+        float viewHeight = camera.viewportHeight * camera.zoom;
+        float left = camera.position.x - viewWidth / 2;
+        float bottom = camera.position.y - viewHeight / 2;
+
+        int quads = 0;
+        for (int i = 0; i < layers.size; i++) {
+            Layer layer = layers.get(i);
+            // Tramo visible de la capa, en copias de la imagen (0 = borde inferior de la primera).
+            // El espejo se repite cada dos copias; reducirlo a [0, 2) evita perder precisión muy arriba.
+            float start = bottom * layer.factor / layer.periodHeight;
+            start -= 2 * MathUtils.floor(start / 2);
+            float end = start + viewHeight / layer.periodHeight;
+
+            if (layer.wrapped) {
+                // v crece hacia abajo en la imagen: el borde inferior del quad es 1 - start
+                RenderQueue.rect(vertices, 0, Color.WHITE_FLOAT_BITS, left, bottom, viewWidth, viewHeight, 0, 1 - start, 1, 1 - end);
+                meshes.drawQuads(layer.texture, vertices, 0, 1);
+                quads++;
+                continue;
+            }
+
+            // Sin wrap: un quad por copia visible, volteando las copias impares
+            int layerQuads = 0;
+            for (float from = start; from < end; ) {
+                if (layerQuads == MAX_QUADS) {
+                    meshes.drawQuads(layer.texture, vertices, 0, layerQuads);
+                    quads += layerQuads;
+                    layerQuads = 0;
+                }
+                int copy = MathUtils.floor(from);
+                float to = Math.min(end, copy + 1);
+                float a = from - copy;
+                float b = to - copy;
+                boolean mirrored = (copy & 1) != 0;
+                float y = bottom + (from - start) * layer.periodHeight;
+                RenderQueue.rect(vertices, layerQuads * RenderQueue.QUAD_SIZE, Color.WHITE_FLOAT_BITS, left, y, viewWidth,
+                    (to - from) * layer.periodHeight, 0, mirrored ? a : 1 - a, 1, mirrored ? b : 1 - b);
+                layerQuads++;
+                from = to;
+            }
+            meshes.drawQuads(layer.texture, vertices, 0, layerQuads);
+            quads += layerQuads;
+        }
+        return quads;
+    }
+}
@@ -0,0 +1,132 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Partículas de impacto (polvo al pegarse a una pared, chispas al rebotar en el aire) con capacidad fija
+ * y arrays primitivos: emitir, actualizar y dibujar no crean objetos. Si se llena el presupuesto las
+ * partículas nuevas se descartan y se cuentan en {@link #getDroppedCount()}.
+ * Se dibujan con una región del atlas del juego, así que van en el mismo lote sin cambiar de textura;
+ * el color va en los vértices y tampoco fuerza un flush.
+ */
+public class ParticleSystem {
+    public static final int DUST = 0;
+    public static final int SPARK = 1;
+
+    // Por tipo: color, gravedad (px/s²), frenado por segundo y tamaño inicial
+    private static final float[] RED = {0.85f, 1f};
+    private static final float[] GREEN = {0.78f, 0.92f};
+    private static final float[] BLUE = {0.66f, 0.45f};
+    private static final float[] GRAVITY = {-300f, -900f};
+    private static final float[] DRAG = {3f, 0.5f};
+    private static final float[] SIZE = {10f, 6f};
+
+    private final int capacity;
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] life;    // Segundos que le quedan
+    private final float[] maxLife;
+    private final byte[] type;
+    private int count = 0;
+    private int dropped = 0; // Partículas descartadas por falta de hueco desde el último resetDropped
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        life = new float[capacity];
+        maxLife = new float[capacity];
+        type = new byte[capacity];
+    }
+
+    /**
+     * Emite {@code amount} partículas desde (x, y) en un abanico centrado en {@code angle}.
+     *
+     * @param spread apertura total del abanico en grados (360 = en todas direcciones)
+     */
+    public void emit(int particleType, float x, float y, int amount, float angle, float spread,
+                     float minSpeed, float maxSpeed, float lifetime) {
+        for (int i = 0; i < amount; i++) {
+            if (count == capacity) {
+                dropped += amount - i;
+                return;
+            }
+            int p = count++;
+            float direction = angle + MathUtils.random(-spread / 2, spread / 2);
+            float speed = MathUtils.random(minSpeed, maxSpeed);
+            this.x[p] = x;
+            this.y[p] = y;
+            velocityX[p] = MathUtils.cosDeg(direction) * speed;
+            velocityY[p] = MathUtils.sinDeg(direction) * speed;
+            maxLife[p] = life[p] = lifetime * MathUtils.random(0.6f, 1f);
+            type[p] = (byte) particleType;
+        }
+    }
+
+    /** Avanza las partículas; las que se apagan se sustituyen por la última para no dejar huecos. */
+    public void update(float delta) {
+        for (int p = count - 1; p >= 0; p--) {
+            life[p] -= delta;
+            if (life[p] <= 0f) {
+                int last = --count;
+                x[p] = x[last];
+                y[p] = y[last];
+                velocityX[p] = velocityX[last];
+                velocityY[p] = velocityY[last];
+                life[p] = life[last];
+                maxLife[p] = maxLife[last];
+                type[p] = type[last];
+                continue;
+            }
+            int t = type[p];
+            float drag = Math.max(0f, 1f - DRAG[t] * delta);
+            velocityX[p] *= drag;
+            velocityY[p] = velocityY[p] * drag + GRAVITY[t] * delta;
+            x[p] += velocityX[p] * delta;
+            y[p] += velocityY[p] * delta;
+        }
+    }
+
+    /**
+     * Encola las partículas en la capa de efectos, apagándose y encogiendo al final de su vida,
+     * y deja el color de la cola en blanco.
+     *
+     * @return número de partículas encoladas
+     */
+    public int draw(RenderQueue queue, TextureRegion region) {
+        for (int p = 0; p < count; p++) {
+            int t = type[p];
+            float fade = life[p] / maxLife[p];
+            float size = SIZE[t] * (0.5f + 0.5f * fade);
+            queue.setColor(RED[t], GREEN[t], BLUE[t], fade);
+            queue.draw(RenderQueue.LAYER_EFFECTS, region, x[p] - size / 2, y[p] - size / 2, size, size);
+        }
+        queue.resetColor();
+        return count;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int getActiveCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getDroppedCount() {
+        return dropped;
+    }
+
+    public void resetDropped() {
+        dropped = 0;
+    }
+}
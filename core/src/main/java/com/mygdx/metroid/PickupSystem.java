@@ -0,0 +1,41 @@
+package com.mygdx.metroid;
+
+/** Retira las entidades PICKUP que tocan al jugador y cuenta cuántas lleva recogidas. */
+public class PickupSystem implements EntitySystem {
+    private static final int REQUIRED = EntityWorld.POSITION | EntityWorld.BODY | EntityWorld.PICKUP;
+
+    private final Player player;
+    private int collected = 0;
+
+    public PickupSystem(Player player) {
+        this.player = player;
+    }
+
+    @Override
+    public void update(EntityWorld world, float delta) {
+        float px = player.bounds.x, py = player.bounds.y, pw = player.bounds.width, ph = player.bounds.height;
+        // De atrás hacia delante: destroy mueve la última viva al hueco
+        for (int i = world.size() - 1; i >= 0; i--) {
+            int id = world.getEntity(i);
+            if (!world.has(id, REQUIRED)) continue;
+            if (world.x[id] < px + pw && world.x[id] + world.width[id] > px
+                && world.y[id] < py + ph && world.y[id] + world.height[id] > py) {
+                world.destroy(id);
+                collected++;
+            }
+        }
+    }
+
+    public int getCollected() {
+        return collected;
+    }
+
+    public void reset() {
+        collected = 0;
+    }
+
+    /** Para restaurar una instantánea. */
+    void setCollected(int collected) {
+        this.collected = collected;
+    }
+}
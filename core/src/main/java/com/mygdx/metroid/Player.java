@@ -1,12 +1,18 @@
 package com.mygdx.metroid;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 
+/**
+ * Estado y física del jugador. No depende de texturas ni de Gdx.input, de modo que
+ * puede simularse sin contexto gráfico; el dibujo lo resuelve {@link GameScreen}.
+ */
 public class Player {
+    // Tamaño de la hitbox (el de los sprites de assets/PNG/Characters)
+    public static final float WIDTH = 96f;
+    public static final float HEIGHT = 96f;
+
     public enum PlayerState {
         ON_GROUND,
         ON_WALL_LEFT,
@@ -14,16 +20,25 @@ public class Player {
         IN_AIR // (si hiciera falta para animaciones o transición)
     }
 
+    /** Pose que se dibuja; cada una tiene su animación en {@link PlayerAnimations}. */
+    public enum Pose {
+        GROUND,
+        WALL,
+        JUMP, // Justo después de un salto o rebote, durante CLIMB_DURATION
+        AIR
+    }
+
     public boolean hasAirBounced = false;
     public Vector2 position;
+    public Vector2 previousPosition; // Posición al inicio del último paso, para interpolar el render
     public Vector2 velocity;
-    private Texture texture;
     public Rectangle bounds;
 
-    private Texture idleTexture;
-    private Texture climbTexture;
+    private boolean climbPose = false; // true → se dibuja la pose de salto durante CLIMB_DURATION
     private float climbTimer = 0;
     private static final float CLIMB_DURATION = 0.2f;
+    private Pose pose = Pose.GROUND;
+    private float poseTime = 0f; // Tiempo de simulación en la pose actual, para elegir el frame
 
     public boolean isJumping = false; // En lugar de isChargingJump.
     private float jumpHoldTime = 0f;    // Tiempo que se mantiene presionado el salto.
@@ -34,30 +49,83 @@ public class Player {
     private final float MAX_JUMP_HOLD = 0.5f; // medio segundo para salto completo
 
 
-    // Valores para la física y el salto
-    private static final float GRAVITY = -20f;
+    // Valores para la física y el salto (todas las magnitudes van por segundo)
+    static final float GRAVITY = -1200f; // Antes -20 por frame a ~60 FPS; las entidades usan la misma
     private static final float WALL_JUMP_HORIZONTAL_IMPULSE = 300;
     private static final float WALL_JUMP_VERTICAL_IMPULSE = 1000;
     public PlayerState currentState;
 
     public Player(float x, float y) {
         position = new Vector2(x, y);
+        previousPosition = new Vector2(x, y);
         velocity = new Vector2(0, 0);
-        // Cargamos las texturas: idle para estado normal y climb para el salto
-        idleTexture = new Texture("PNG/Characters/platformChar_happy.png");
-        climbTexture = new Texture("PNG/Characters/platformChar_idle.png");
-        texture = idleTexture;
-        // Inicializamos la hitbox en base a la textura idle
-        bounds = new Rectangle(x, y, idleTexture.getWidth(), idleTexture.getHeight());
+        bounds = new Rectangle(x, y, WIDTH, HEIGHT);
         // El jugador comienza en el suelo
         currentState = PlayerState.ON_GROUND;
     }
 
-    public void update(float delta) {
+    /** Devuelve al jugador al estado inicial en (x, y), sin crear objetos nuevos. */
+    public void reset(float x, float y) {
+        position.set(x, y);
+        previousPosition.set(x, y);
+        velocity.set(0, 0);
+        bounds.setPosition(x, y);
+        currentState = PlayerState.ON_GROUND;
+        hasAirBounced = false;
+        isJumping = false;
+        jumpHoldTime = 0f;
+        climbPose = false;
+        climbTimer = 0;
+        pose = Pose.GROUND;
+        poseTime = 0f;
+    }
+
+    /** Copia todo el estado del jugador a la instantánea. */
+    void save(SimulationSnapshot out) {
+        out.x = position.x;
+        out.y = position.y;
+        out.previousX = previousPosition.x;
+        out.previousY = previousPosition.y;
+        out.velocityX = velocity.x;
+        out.velocityY = velocity.y;
+        out.state = currentState;
+        out.hasAirBounced = hasAirBounced;
+        out.isJumping = isJumping;
+        out.jumpHoldTime = jumpHoldTime;
+        out.climbPose = climbPose;
+        out.climbTimer = climbTimer;
+    }
+
+    /** Deja al jugador exactamente como estaba al guardar la instantánea, sin crear objetos nuevos. */
+    void restore(SimulationSnapshot snapshot) {
+        position.set(snapshot.x, snapshot.y);
+        previousPosition.set(snapshot.previousX, snapshot.previousY);
+        velocity.set(snapshot.velocityX, snapshot.velocityY);
+        bounds.setPosition(position.x, position.y);
+        currentState = snapshot.state;
+        hasAirBounced = snapshot.hasAirBounced;
+        isJumping = snapshot.isJumping;
+        jumpHoldTime = snapshot.jumpHoldTime;
+        climbPose = snapshot.climbPose;
+        climbTimer = snapshot.climbTimer;
+        // La animación es solo visual: vuelve a empezar la pose
+        pose = computePose();
+        poseTime = 0f;
+    }
+
+    /**
+     * Avanza un paso de simulación. Se llama con el paso fijo de {@link FixedTimestep},
+     * nunca con el delta variable del frame.
+     *
+     * @param touched si el toque se mantiene pulsado en este paso (salto prolongado)
+     */
+    public void update(float delta, boolean touched) {
+        previousPosition.set(position);
+
         // Aplicar física según el estado
         switch (currentState) {
             case IN_AIR:
-                velocity.y += GRAVITY;
+                velocity.y += GRAVITY * delta;
                 break;
             case ON_WALL_LEFT:
             case ON_WALL_RIGHT:
@@ -76,7 +144,7 @@ public class Player {
 
         // Aplicar el impulso continuo si se mantiene presionado y no se excede el límite
         if (isJumping) {
-            if (Gdx.input.isTouched() && jumpHoldTime < MAX_JUMP_DURATION) {
+            if (touched && jumpHoldTime < MAX_JUMP_DURATION) {
                 jumpHoldTime += delta;
                 velocity.y += CONTINUOUS_JUMP_BOOST * delta;
             } else {
@@ -84,7 +152,40 @@ public class Player {
             }
         }
 
-        // Actualiza animaciones u otros timers si es necesario...
+        // La pose de salto dura CLIMB_DURATION; después se vuelve a la del estado
+        if (climbTimer > 0) {
+            climbTimer -= delta;
+            if (climbTimer <= 0) {
+                climbTimer = 0;
+                climbPose = false;
+            }
+        }
+    }
+
+    /**
+     * Avanza el tiempo de la animación con el paso de simulación. {@link Simulation} lo llama al
+     * final del paso, cuando ya se han resuelto los contactos con las paredes.
+     */
+    void updatePose(float delta) {
+        Pose next = computePose();
+        if (next != pose) {
+            pose = next;
+            poseTime = 0f;
+        } else {
+            poseTime += delta;
+        }
+    }
+
+    private Pose computePose() {
+        switch (currentState) {
+            case ON_GROUND:
+                return Pose.GROUND;
+            case ON_WALL_LEFT:
+            case ON_WALL_RIGHT:
+                return Pose.WALL;
+            default:
+                return climbPose ? Pose.JUMP : Pose.AIR;
+        }
     }
 
     /**
@@ -124,8 +225,8 @@ public class Player {
         // Impulso vertical
         velocity.y = WALL_JUMP_VERTICAL_IMPULSE;
 
-        // Animación y textura
-        texture = climbTexture;
+        // Animación
+        climbPose = true;
         climbTimer = CLIMB_DURATION;
 
         // Marcar que ya se usó el rebote en este salto
@@ -138,7 +239,7 @@ public class Player {
         velocity.x = -WALL_JUMP_HORIZONTAL_IMPULSE * powerFactor;
         velocity.y = WALL_JUMP_VERTICAL_IMPULSE * powerFactor;
         currentState = PlayerState.IN_AIR;
-        texture = climbTexture;
+        climbPose = true;
         climbTimer = CLIMB_DURATION;
         hasAirBounced = false;
     }
@@ -147,24 +248,27 @@ public class Player {
         velocity.x = WALL_JUMP_HORIZONTAL_IMPULSE * powerFactor;
         velocity.y = WALL_JUMP_VERTICAL_IMPULSE * powerFactor;
         currentState = PlayerState.IN_AIR;
-        texture = climbTexture;
+        climbPose = true;
         climbTimer = CLIMB_DURATION;
         hasAirBounced = false;
     }
 
-    public Texture getTexture() {
-        return texture;
+    /** Posición X interpolada entre los dos últimos pasos de simulación. */
+    public float getInterpolatedX(float alpha) {
+        return MathUtils.lerp(previousPosition.x, position.x, alpha);
     }
 
-    public void dispose() {
-        if (idleTexture != null) {
-            idleTexture.dispose();
-            idleTexture = null;
-        }
-        if (climbTexture != null) {
-            climbTexture.dispose();
-            climbTexture = null;
-        }
-        texture = null;
+    /** Posición Y interpolada entre los dos últimos pasos de simulación. */
+    public float getInterpolatedY(float alpha) {
+        return MathUtils.lerp(previousPosition.y, position.y, alpha);
+    }
+
+    public Pose getPose() {
+        return pose;
+    }
+
+    /** Segundos de simulación desde que empezó la pose actual. */
+    public float getPoseTime() {
+        return poseTime;
     }
 }
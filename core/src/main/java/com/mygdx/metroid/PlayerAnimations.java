@@ -0,0 +1,67 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+/**
+ * Animaciones del jugador, una por {@link Player.Pose}, definidas en {@link Assets#PLAYER_ANIMATIONS}:
+ * <pre>
+ * "WALL": { "frames": ["Characters/platformChar_climb1", ...], "frameDuration": 0.3, "playMode": "LOOP" }
+ * </pre>
+ * Los frames son regiones del atlas del juego y se buscan una sola vez al cargar, así que añadir poses
+ * o frames no cambia de textura en el lote ni crea objetos al dibujar. El tiempo de cada pose lo lleva
+ * el jugador con el paso de simulación ({@link Player#getPoseTime()}).
+ */
+public class PlayerAnimations {
+    private final Array<Animation<TextureRegion>> animations;
+
+    public PlayerAnimations(TextureAtlas atlas, FileHandle file) {
+        JsonValue root = new JsonReader().parse(file);
+        Player.Pose[] poses = Player.Pose.values();
+        animations = new Array<>(true, poses.length);
+        for (Player.Pose pose : poses) {
+            JsonValue definition = root.get(pose.name());
+            if (definition == null) {
+                throw new GdxRuntimeException("Falta la animación '" + pose.name() + "' en " + file.path());
+            }
+            animations.add(load(atlas, file, pose, definition)); // en orden de ordinal()
+        }
+    }
+
+    private static Animation<TextureRegion> load(TextureAtlas atlas, FileHandle file, Player.Pose pose, JsonValue definition) {
+        String[] names = definition.require("frames").asStringArray();
+        if (names.length == 0) {
+            throw new GdxRuntimeException("La animación '" + pose.name() + "' de " + file.path() + " no tiene frames");
+        }
+        Array<TextureRegion> frames = new Array<>(names.length);
+        for (String name : names) {
+            TextureRegion region = atlas.findRegion(name);
+            if (region == null) {
+                throw new GdxRuntimeException("Región '" + name + "' de la animación '" + pose.name()
+                    + "' no encontrada en " + Assets.ATLAS + "; ejecuta la tarea de Gradle packTextures");
+            }
+            frames.add(region);
+        }
+        float frameDuration = definition.getFloat("frameDuration", 0.2f);
+        if (frameDuration <= 0f) {
+            throw new GdxRuntimeException("frameDuration debe ser positivo en la animación '" + pose.name() + "'");
+        }
+        Animation.PlayMode playMode = Animation.PlayMode.valueOf(definition.getString("playMode", "NORMAL"));
+        return new Animation<>(frameDuration, frames, playMode);
+    }
+
+    /** Frame de la pose actual del jugador. */
+    public TextureRegion getFrame(Player player) {
+        return getFrame(player.getPose(), player.getPoseTime());
+    }
+
+    public TextureRegion getFrame(Player.Pose pose, float time) {
+        return animations.get(pose.ordinal()).getKeyFrame(time);
+    }
+}
@@ -0,0 +1,62 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * Texto superpuesto con las métricas de {@link FrameProfiler}.
+ * Usa la fuente por defecto de libGDX y un StringBuilder reutilizado, así que dibujarlo no reserva memoria.
+ */
+public class ProfilerOverlay implements Disposable {
+    private static final float MARGIN = 8f;
+
+    private final BitmapFont font = new BitmapFont();
+    private final Matrix4 projection = new Matrix4();
+    private final StringBuilder text = new StringBuilder(256);
+
+    public ProfilerOverlay() {
+        font.setColor(Color.YELLOW);
+    }
+
+    public void draw(SpriteBatch batch, FrameProfiler profiler) {
+        // Coordenadas de pantalla, independientes de la cámara y del viewport del juego
+        Gdx.gl.glViewport(0, 0, Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+        projection.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        text.setLength(0);
+        text.append("frame ");
+        appendMillis(profiler.frameMillis).append(" ms (p50 ");
+        appendMillis(profiler.p50Millis).append(" p95 ");
+        appendMillis(profiler.p95Millis).append(" p99 ");
+        appendMillis(profiler.p99Millis).append(")\n");
+        text.append("update ");
+        appendMillis(profiler.updateMillis).append(" ms  render ");
+        appendMillis(profiler.renderMillis).append(" ms\n");
+        text.append("draw calls ").append(profiler.drawCalls).append("  binds ").append(profiler.textureBindings)
+            .append("  flushes ").append(profiler.batchFlushes)
+            .append("  saved ").append(profiler.flushesSaved).append('\n');
+        text.append("sprites ").append(profiler.spritesDrawn).append("  culled ").append(profiler.spritesCulled).append('\n');
+        text.append("particles ").append(profiler.particlesActive).append("  dropped ").append(profiler.particlesDropped)
+            .append("  scale ").append(Math.round(profiler.renderScale * 100)).append('%');
+
+        batch.setProjectionMatrix(projection);
+        batch.begin();
+        font.draw(batch, text, MARGIN, Gdx.graphics.getHeight() - MARGIN);
+        batch.end();
+    }
+
+    /** Milisegundos con dos decimales sin pasar por Float.toString (que crea un String). */
+    private StringBuilder appendMillis(float millis) {
+        int hundredths = Math.round(Math.max(0f, millis) * 100f);
+        return text.append(hundredths / 100).append('.').append(hundredths % 100, 2);
+    }
+
+    @Override
+    public void dispose() {
+        font.dispose();
+    }
+}
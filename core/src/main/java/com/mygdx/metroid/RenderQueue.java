@@ -0,0 +1,253 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Arrays;
+
+/**
+ * Cola de órdenes de dibujo del frame.
+ * Cada objeto deja aquí sus quads (textura, vértices ya transformados y capa) en lugar de dibujar
+ * directamente; {@link #flush} los ordena por capa y textura y los manda al lote, de modo que el
+ * lote solo se vacía al cambiar de textura una vez por capa. Dentro de la misma capa y textura se
+ * respeta el orden de llegada.
+ * Los vértices van en el formato de {@link com.badlogic.gdx.graphics.g2d.SpriteBatch} (20 floats por quad);
+ * {@link #transform} y {@link #rect} los calculan también para los meshes de {@link ChunkMeshCache}.
+ * No crea objetos salvo al crecer la primera vez que hay más órdenes que nunca.
+ */
+public class RenderQueue {
+    // Capas de abajo arriba. El fondo, el suelo y las paredes no pasan por la cola: van antes, en el pase de ChunkMeshCache
+    public static final int LAYER_ENTITIES = 0;
+    public static final int LAYER_PLAYER = 1;
+    public static final int LAYER_EFFECTS = 2;
+
+    /** Floats por quad: x, y, color, u, v de cada una de las cuatro esquinas. */
+    public static final int QUAD_SIZE = 20;
+
+    // Clave de orden: capa | textura | secuencia. La secuencia la hace única y mantiene el orden de llegada
+    private static final int LAYER_SHIFT = 56;
+    private static final int TEXTURE_SHIFT = 40;
+    private static final long SEQUENCE_MASK = (1L << TEXTURE_SHIFT) - 1;
+
+    private float[] vertices;
+    private Texture[] textures;
+    private long[] keys;
+    private int count = 0;
+
+    // Texturas vistas en el frame; su posición es el id que entra en la clave
+    private final Array<Texture> textureIds = new Array<>(false, 4);
+    private float color = Color.WHITE_FLOAT_BITS;
+
+    // Estadísticas del último flush
+    private Texture lastSubmitted;
+    private int submissionSwitches = 0;
+    private int sortedSwitches = 0;
+    private int lastCommandCount = 0;
+
+    public RenderQueue(int initialCapacity) {
+        vertices = new float[initialCapacity * QUAD_SIZE];
+        textures = new Texture[initialCapacity];
+        keys = new long[initialCapacity];
+    }
+
+    /** Vacía la cola para empezar un frame nuevo. */
+    public void begin() {
+        clearCommands();
+        textureIds.clear();
+        lastSubmitted = null;
+        submissionSwitches = 0;
+        sortedSwitches = 0;
+        lastCommandCount = 0;
+        color = Color.WHITE_FLOAT_BITS;
+    }
+
+    /** Color (con alfa) de las siguientes órdenes; queda guardado en sus vértices. */
+    public void setColor(float r, float g, float b, float a) {
+        color = Color.toFloatBits(r, g, b, a);
+    }
+
+    public void resetColor() {
+        color = Color.WHITE_FLOAT_BITS;
+    }
+
+    public void draw(int layer, TextureRegion region, float x, float y, float width, float height) {
+        int v = add(layer, region.getTexture());
+        float x2 = x + width;
+        float y2 = y + height;
+        quad(v, x, y, x, y2, x2, y2, x2, y, region.getU(), region.getV2(), region.getU2(), region.getV());
+    }
+
+    /**
+     * Ordena las órdenes y las manda al lote, que debe estar abierto.
+     *
+     * @return número de órdenes dibujadas
+     */
+    public int flush(Batch batch) {
+        sort(keys, count);
+        Texture current = null;
+        sortedSwitches = 0;
+        for (int i = 0; i < count; i++) {
+            int command = (int) (keys[i] & SEQUENCE_MASK);
+            Texture texture = textures[command];
+            if (texture != current) {
+                current = texture;
+                sortedSwitches++;
+            }
+            batch.draw(texture, vertices, command * QUAD_SIZE, QUAD_SIZE);
+        }
+        lastCommandCount = count;
+        clearCommands();
+        return lastCommandCount;
+    }
+
+    /** No retenemos texturas entre frames. */
+    private void clearCommands() {
+        Arrays.fill(textures, 0, count, null);
+        count = 0;
+    }
+
+    public int getCommandCount() {
+        return lastCommandCount;
+    }
+
+    /** Cambios de textura (vaciados del lote) que hubo en el último flush. */
+    public int getTextureSwitches() {
+        return sortedSwitches;
+    }
+
+    /** Vaciados del lote que se han ahorrado en el último flush frente a dibujar en orden de llegada. */
+    public int getFlushesSaved() {
+        return submissionSwitches - sortedSwitches;
+    }
+
+    /**
+     * Calcula en {@code out} los 20 floats de un quad rotado y escalado sobre su origen,
+     * igual que lo haría SpriteBatch al dibujarlo.
+     */
+    static void transform(float[] out, int offset, float color, TextureRegion region, float x, float y,
+                          float originX, float originY, float width, float height,
+                          float scaleX, float scaleY, float rotation) {
+        float worldOriginX = x + originX;
+        float worldOriginY = y + originY;
+        float fx = -originX * scaleX;
+        float fy = -originY * scaleY;
+        float fx2 = (width - originX) * scaleX;
+        float fy2 = (height - originY) * scaleY;
+
+        float x1, y1, x2, y2, x3, y3, x4, y4;
+        if (rotation != 0) {
+            float cos = MathUtils.cosDeg(rotation);
+            float sin = MathUtils.sinDeg(rotation);
+            x1 = cos * fx - sin * fy;
+            y1 = sin * fx + cos * fy;
+            x2 = cos * fx - sin * fy2;
+            y2 = sin * fx + cos * fy2;
+            x3 = cos * fx2 - sin * fy2;
+            y3 = sin * fx2 + cos * fy2;
+            x4 = x1 + (x3 - x2);
+            y4 = y3 - (y2 - y1);
+        } else {
+            x1 = fx;
+            y1 = fy;
+            x2 = fx;
+            y2 = fy2;
+            x3 = fx2;
+            y3 = fy2;
+            x4 = fx2;
+            y4 = fy;
+        }
+        write(out, offset, color,
+            x1 + worldOriginX, y1 + worldOriginY, x2 + worldOriginX, y2 + worldOriginY,
+            x3 + worldOriginX, y3 + worldOriginY, x4 + worldOriginX, y4 + worldOriginY,
+            region.getU(), region.getV2(), region.getU2(), region.getV());
+    }
+
+    /** Calcula en {@code out} los 20 floats de un rectángulo sin rotar, como Batch.draw(Texture, x, y, width, height, u, v, u2, v2). */
+    static void rect(float[] out, int offset, float color, float x, float y, float width, float height,
+                     float u, float v, float u2, float v2) {
+        float x2 = x + width;
+        float y2 = y + height;
+        write(out, offset, color, x, y, x, y2, x2, y2, x2, y, u, v, u2, v2);
+    }
+
+    /** Reserva una orden y devuelve el desplazamiento de sus vértices. */
+    private int add(int layer, Texture texture) {
+        if (count == textures.length) grow();
+        if (texture != lastSubmitted) {
+            lastSubmitted = texture;
+            submissionSwitches++;
+        }
+        int textureId = textureIds.indexOf(texture, true);
+        if (textureId < 0) {
+            textureId = textureIds.size;
+            textureIds.add(texture);
+        }
+        textures[count] = texture;
+        keys[count] = (long) layer << LAYER_SHIFT | (long) textureId << TEXTURE_SHIFT | count;
+        return count++ * QUAD_SIZE;
+    }
+
+    /** Esquinas en el orden de SpriteBatch: abajo-izquierda, arriba-izquierda, arriba-derecha, abajo-derecha. */
+    private void quad(int offset, float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4,
+                      float u, float v, float u2, float v2) {
+        write(vertices, offset, color, x1, y1, x2, y2, x3, y3, x4, y4, u, v, u2, v2);
+    }
+
+    private static void write(float[] out, int i, float color, float x1, float y1, float x2, float y2,
+                              float x3, float y3, float x4, float y4, float u, float v, float u2, float v2) {
+        out[i] = x1;
+        out[i + 1] = y1;
+        out[i + 2] = color;
+        out[i + 3] = u;
+        out[i + 4] = v;
+
+        out[i + 5] = x2;
+        out[i + 6] = y2;
+        out[i + 7] = color;
+        out[i + 8] = u;
+        out[i + 9] = v2;
+
+        out[i + 10] = x3;
+        out[i + 11] = y3;
+        out[i + 12] = color;
+        out[i + 13] = u2;
+        out[i + 14] = v2;
+
+        out[i + 15] = x4;
+        out[i + 16] = y4;
+        out[i + 17] = color;
+        out[i + 18] = u2;
+        out[i + 19] = v;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, textures.length * 2);
+        vertices = Arrays.copyOf(vertices, capacity * QUAD_SIZE);
+        textures = Arrays.copyOf(textures, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    /**
+     * Shellsort en el sitio: Arrays.sort puede reservar un array de trabajo y aquí no queremos basura.
+     * Las órdenes suelen llegar casi ordenadas (cada capa de seguido), así que el coste es casi lineal.
+     */
+    private static void sort(long[] a, int n) {
+        int gap = 1;
+        while (gap < n / 3) gap = gap * 3 + 1;
+        for (; gap > 0; gap /= 3) {
+            for (int i = gap; i < n; i++) {
+                long key = a[i];
+                int j = i;
+                while (j >= gap && a[j - gap] > key) {
+                    a[j] = a[j - gap];
+                    j -= gap;
+                }
+                a[j] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Resolución interna del juego. A escala 1 se dibuja directamente en pantalla; por debajo se dibuja en un
+ * {@link FrameBuffer} más pequeño que luego se estira al área del viewport. En modo dinámico la escala baja
+ * un escalón cuando el tiempo de frame medio pasa del presupuesto y, tras un rato estable, prueba a subir;
+ * si al subir vuelve a pasarse, espera el doble antes del siguiente intento.
+ * El FrameBuffer solo se crea de nuevo cuando cambian la escala o el tamaño de la ventana.
+ */
+public class RenderScaler implements Disposable {
+    private static final float[] LEVELS = {1f, 0.75f, 0.5f};
+    private static final float BUDGET_SECONDS = 1f / 55f; // Algo de margen sobre 60 FPS
+    private static final float SMOOTHING = 0.05f;         // Peso del último frame en la media
+    private static final float DOWNGRADE_AFTER = 0.5f;    // Segundos seguidos por encima del presupuesto
+    private static final float UPGRADE_AFTER = 5f;        // Segundos estables antes de probar a subir
+    private static final float MAX_UPGRADE_WAIT = 60f;
+
+    private final boolean dynamic;
+    private int level = 0;
+    private float averageDelta = 1f / 60f;
+    private float overBudgetTime = 0f;
+    private float stableTime = 0f;
+    private float upgradeWait = UPGRADE_AFTER;
+    private boolean justUpgraded = false;
+
+    private FrameBuffer frameBuffer;
+    private final TextureRegion frameRegion = new TextureRegion();
+    private final Matrix4 blitProjection = new Matrix4().setToOrtho2D(0, 0, 1, 1);
+    private boolean drawingToBuffer = false;
+
+    /** @param dynamic si la escala se ajusta sola; si no, se queda en la resolución nativa */
+    public RenderScaler(boolean dynamic) {
+        this.dynamic = dynamic;
+    }
+
+    /** Mide el frame y decide la escala de los siguientes. */
+    public void update(float delta) {
+        if (!dynamic) return;
+        averageDelta += (delta - averageDelta) * SMOOTHING;
+
+        if (averageDelta > BUDGET_SECONDS) {
+            overBudgetTime += delta;
+            stableTime = 0f;
+            if (overBudgetTime >= DOWNGRADE_AFTER && level < LEVELS.length - 1) {
+                // Si acabamos de subir y no aguanta, la próxima vez esperamos más
+                if (justUpgraded) upgradeWait = Math.min(upgradeWait * 2, MAX_UPGRADE_WAIT);
+                setLevel(level + 1);
+            }
+        } else {
+            overBudgetTime = 0f;
+            stableTime += delta;
+            if (stableTime >= UPGRADE_AFTER) justUpgraded = false;
+            if (stableTime >= upgradeWait && level > 0) {
+                setLevel(level - 1);
+                justUpgraded = true;
+            }
+        }
+    }
+
+    private void setLevel(int level) {
+        this.level = level;
+        overBudgetTime = 0f;
+        stableTime = 0f;
+        averageDelta = BUDGET_SECONDS; // Cada escala se mide desde cero
+        Gdx.app.log("RenderScaler", "render scale " + LEVELS[level]);
+    }
+
+    public float getScale() {
+        return LEVELS[level];
+    }
+
+    /**
+     * Prepara el destino del frame: la pantalla (aplicando el viewport) o el FrameBuffer reducido.
+     * Después se dibuja el mundo con la cámara del viewport y se llama a {@link #end}.
+     */
+    public void begin(Viewport viewport) {
+        float scale = getScale();
+        if (scale >= 1f) {
+            viewport.apply();
+            drawingToBuffer = false;
+            return;
+        }
+
+        int width = Math.max(1, Math.round(viewport.getScreenWidth() * scale));
+        int height = Math.max(1, Math.round(viewport.getScreenHeight() * scale));
+        if (frameBuffer == null || frameBuffer.getWidth() != width || frameBuffer.getHeight() != height) {
+            if (frameBuffer != null) frameBuffer.dispose();
+            frameBuffer = new FrameBuffer(Pixmap.Format.RGB888, width, height, false);
+            Texture texture = frameBuffer.getColorBufferTexture();
+            texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            // El FrameBuffer sale invertido en Y
+            frameRegion.setRegion(texture);
+            frameRegion.flip(false, true);
+        }
+        frameBuffer.begin();
+        drawingToBuffer = true;
+    }
+
+    /** Si se dibujó en el FrameBuffer, lo estira al área del viewport con {@code batch}. */
+    public void end(SpriteBatch batch, Viewport viewport) {
+        if (!drawingToBuffer) return;
+        frameBuffer.end();
+        viewport.apply();
+        batch.setProjectionMatrix(blitProjection);
+        batch.begin();
+        batch.draw(frameRegion, 0, 0, 1, 1);
+        batch.end();
+        drawingToBuffer = false;
+    }
+
+    @Override
+    public void dispose() {
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+            frameBuffer = null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.mygdx.metroid;
+
+/** Contadores de dibujo del último frame, para medir lo que ahorra el culling. */
+public class RenderStats {
+    public int drawnSprites;
+    public int culledSprites;
+
+    public void reset() {
+        drawnSprites = 0;
+        culledSprites = 0;
+    }
+
+    public int getTotalSprites() {
+        return drawnSprites + culledSprites;
+    }
+}
@@ -0,0 +1,141 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Grabación de una partida: semilla de la torre, duración del paso y la entrada de cada paso.
+ * Una partida continuada lleva además la {@link SimulationSnapshot} desde la que empezó; sin ella
+ * la partida empieza en el suelo.
+ * La entrada se guarda comprimida por rachas (valor + nº de pasos), así que mantener el toque
+ * o no tocar durante segundos ocupa un par de bytes.
+ * Al final se guardan la altura máxima y el checksum de la simulación para verificar la partida.
+ *
+ * Formato binario (big endian): magic "MTRP", versión (byte), semilla (long), paso (float),
+ * bytes de la instantánea de partida (int, 0 si empieza en el suelo) y la instantánea,
+ * nº de rachas (int), rachas [valor (byte), longitud (varint)], altura máxima (float), checksum (long).
+ * La versión 1 no tenía la instantánea; se sigue pudiendo leer.
+ */
+public class Replay {
+    public static final int MAGIC = 0x4D545250; // "MTRP"
+    public static final int VERSION = 2;
+
+    // Bits de cada valor de entrada
+    public static final int JUST_TOUCHED = 1;
+    public static final int TOUCHED = 2;
+
+    public long seed;
+    public float stepTime;
+    public SimulationSnapshot start; // null si la partida empieza en el suelo
+    public final ByteArray runValues = new ByteArray();
+    public final IntArray runLengths = new IntArray();
+    public float maxHeight;
+    public long checksum;
+
+    public static int encode(InputSnapshot input) {
+        return (input.justTouched ? JUST_TOUCHED : 0) | (input.touched ? TOUCHED : 0);
+    }
+
+    public static InputSnapshot decode(int value, InputSnapshot out) {
+        return out.set((value & JUST_TOUCHED) != 0, (value & TOUCHED) != 0);
+    }
+
+    /** Número total de pasos grabados. */
+    public long getTickCount() {
+        long ticks = 0;
+        for (int i = 0; i < runLengths.size; i++) {
+            ticks += runLengths.get(i);
+        }
+        return ticks;
+    }
+
+    public void clear() {
+        start = null;
+        runValues.clear();
+        runLengths.clear();
+        maxHeight = 0f;
+        checksum = 0L;
+    }
+
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeFloat(stepTime);
+        if (start == null) {
+            out.writeInt(0);
+        } else {
+            ByteBuffer buffer = ByteBuffer.allocate(SimulationSnapshot.SIZE);
+            start.write(buffer);
+            out.writeInt(SimulationSnapshot.SIZE);
+            out.write(buffer.array());
+        }
+        out.writeInt(runValues.size);
+        for (int i = 0; i < runValues.size; i++) {
+            out.writeByte(runValues.get(i));
+            writeVarInt(out, runLengths.get(i));
+        }
+        out.writeFloat(maxHeight);
+        out.writeLong(checksum);
+        out.flush();
+    }
+
+    public static Replay read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) throw new IOException("No es una grabación de partida (magic incorrecto)");
+        int version = in.readUnsignedByte();
+        if (version != 1 && version != VERSION) throw new IOException("Versión de grabación no soportada: " + version);
+
+        Replay replay = new Replay();
+        replay.seed = in.readLong();
+        replay.stepTime = in.readFloat();
+        int startSize = version == 1 ? 0 : in.readInt();
+        if (startSize < 0 || startSize > SimulationSnapshot.SIZE) {
+            throw new IOException("Tamaño de instantánea inválido: " + startSize);
+        }
+        if (startSize > 0) {
+            byte[] bytes = new byte[startSize];
+            in.readFully(bytes);
+            replay.start = new SimulationSnapshot();
+            replay.start.read(ByteBuffer.wrap(bytes));
+            if (replay.start.seed != replay.seed) throw new IOException("La instantánea es de otra semilla");
+        }
+        int runs = in.readInt();
+        if (runs < 0) throw new IOException("Número de rachas inválido: " + runs);
+        replay.runValues.ensureCapacity(runs);
+        replay.runLengths.ensureCapacity(runs);
+        for (int i = 0; i < runs; i++) {
+            replay.runValues.add(in.readByte());
+            replay.runLengths.add(readVarInt(in));
+        }
+        replay.maxHeight = in.readFloat();
+        replay.checksum = in.readLong();
+        return replay;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint demasiado largo");
+    }
+}
@@ -0,0 +1,46 @@
+package com.mygdx.metroid;
+
+/**
+ * Graba la entrada de cada paso de simulación en un {@link Replay}.
+ * Solo añade memoria cuando cambia la entrada (una racha nueva).
+ */
+public class ReplayRecorder {
+    private final Replay replay = new Replay();
+    private final SimulationSnapshot start = new SimulationSnapshot();
+    private int currentValue = -1;
+
+    /** Empieza una grabación nueva para una partida con esta semilla y este paso. */
+    public void begin(long seed, float stepTime) {
+        replay.clear();
+        replay.seed = seed;
+        replay.stepTime = stepTime;
+        currentValue = -1;
+    }
+
+    /** Empieza una grabación nueva para una partida continuada desde {@code snapshot}. */
+    public void begin(SimulationSnapshot snapshot, float stepTime) {
+        begin(snapshot.seed, stepTime);
+        start.set(snapshot);
+        replay.start = start;
+    }
+
+    /** Registra la entrada que se le ha pasado a {@link Simulation#step} en este paso. */
+    public void record(InputSnapshot input) {
+        int value = Replay.encode(input);
+        int last = replay.runLengths.size - 1;
+        if (value == currentValue && replay.runLengths.get(last) < Integer.MAX_VALUE) {
+            replay.runLengths.incr(last, 1);
+        } else {
+            replay.runValues.add((byte) value);
+            replay.runLengths.add(1);
+            currentValue = value;
+        }
+    }
+
+    /** Cierra la grabación con el resultado de la simulación, que luego se usa para verificarla. */
+    public Replay finish(Simulation simulation) {
+        replay.maxHeight = simulation.getMaxHeight();
+        replay.checksum = simulation.checksum();
+        return replay;
+    }
+}
@@ -0,0 +1,62 @@
+package com.mygdx.metroid;
+
+/**
+ * Reproduce una grabación sin gráficos y tan rápido como da la CPU (miles de pasos por segundo o más).
+ * Sirve para comprobar que un cambio de física no altera partidas grabadas y para verificar puntuaciones.
+ */
+public final class ReplayRunner {
+    /** Resultado de reproducir una grabación. */
+    public static class Result {
+        public long ticks;
+        public float maxHeight;
+        public long checksum;
+        public long elapsedNanos;
+
+        /** Si la simulación terminó exactamente como cuando se grabó. */
+        public boolean matches(Replay replay) {
+            return checksum == replay.checksum && maxHeight == replay.maxHeight;
+        }
+
+        public double getTicksPerSecond() {
+            return elapsedNanos == 0 ? 0 : ticks * 1e9 / elapsedNanos;
+        }
+    }
+
+    private ReplayRunner() {
+    }
+
+    public static Result run(Replay replay) {
+        return run(replay, new Simulation(replay.seed));
+    }
+
+    /**
+     * Reproduce sobre una simulación existente: se reinicia con la semilla de la grabación o, si la
+     * partida era continuada, se restaura su instantánea de partida.
+     *
+     * @throws IllegalArgumentException si la instantánea no es de la torre de la simulación
+     */
+    public static Result run(Replay replay, Simulation simulation) {
+        if (replay.start != null) {
+            simulation.restore(replay.start);
+        } else {
+            simulation.reset(replay.seed);
+        }
+        long startTick = simulation.getTick();
+        InputSnapshot input = new InputSnapshot();
+        long start = System.nanoTime();
+        for (int run = 0; run < replay.runValues.size; run++) {
+            Replay.decode(replay.runValues.get(run), input);
+            int length = replay.runLengths.get(run);
+            for (int i = 0; i < length; i++) {
+                simulation.step(replay.stepTime, input);
+            }
+        }
+
+        Result result = new Result();
+        result.elapsedNanos = System.nanoTime() - start;
+        result.ticks = simulation.getTick() - startTick;
+        result.maxHeight = simulation.getMaxHeight();
+        result.checksum = simulation.checksum();
+        return result;
+    }
+}
@@ -0,0 +1,441 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Lógica del juego sin gráficos: jugador, paredes y colisiones.
+ * No usa texturas ni estáticos de Gdx, así que funciona en un servidor sin pantalla
+ * (benchmarks, tests, repeticiones). Cada llamada a {@link #step} es un paso fijo.
+ */
+public class Simulation {
+    public static final float WORLD_WIDTH = 400f;
+    public static final float WALL_TILE_SIZE = 64f; // Tamaño de platformPack_tile033.png
+    public static final float GROUND_HEIGHT = 64f;  // Alto de platformPack_tile015.png
+
+    // Alto de cada franja del índice espacial: algo más que la separación máxima entre segmentos
+    private static final float INDEX_BAND_HEIGHT = 256f;
+
+    // La torre se genera por tramos: hasta STREAM_AHEAD por encima del jugador, y los tramos
+    // que quedan más de STREAM_BEHIND por debajo se liberan
+    public static final float STREAM_AHEAD = 1200f;
+    public static final float STREAM_BEHIND = 1200f;
+
+    // La partida acaba cuando el jugador cae esto por debajo de su altura máxima (algo más que una pantalla)
+    public static final float FALL_LIMIT = 1000f;
+
+    private final Player player;
+
+    // Segmentos de cada pared en arrays primitivos, y los tramos vivos (de abajo arriba) que los agrupan
+    private final WallStore leftWalls = new WallStore();
+    private final WallStore rightWalls = new WallStore();
+    private final Array<TowerChunk> chunks = new Array<>();
+    private final Pool<TowerChunk> chunkPool = new Pool<TowerChunk>() {
+        @Override
+        protected TowerChunk newObject() {
+            return new TowerChunk();
+        }
+    };
+    private final TowerSource tower; // Torre generada con semilla o nivel cargado de fichero
+
+    // Broadphase: solo se comprueban los segmentos cercanos a la Y del jugador
+    private final VerticalBandIndex leftWallIndex = new VerticalBandIndex(leftWalls, INDEX_BAND_HEIGHT);
+    private final VerticalBandIndex rightWallIndex = new VerticalBandIndex(rightWalls, INDEX_BAND_HEIGHT);
+    private final IntArray nearbyWalls = new IntArray();
+
+    // Resultado del barrido del paso actual (campos en lugar de objetos para no reservar memoria)
+    private static final float NO_CONTACT = SweptAabb.NO_CONTACT;
+    private final SweptAabb sweeper = new SweptAabb();
+    // Lo que se deja solapado al entrar por arriba/abajo, para seguir pegado al tile en el paso siguiente
+    private static final float CONTACT_SKIN = 1f;
+    private float contactTime;
+    private int contactWall;
+    private boolean contactLeft;
+    private boolean contactOnYAxis;
+
+    // Entidades dinámicas (objetos, enemigos, proyectiles) y los sistemas que las mueven, en orden.
+    // El jugador sigue siendo su propio controlador: los sistemas lo consultan, no lo mueven
+    private final EntityWorld entities = new EntityWorld();
+    private EntitySystem[] systems;
+    private PickupSystem pickupSystem;
+
+    private long tick = 0;         // Pasos ejecutados desde el último reset
+    // Tramos pedidos a la torre y liberados desde el último reset; bastan para rehacer la torre viva
+    private int chunksStreamed = 0;
+    private int chunksFreed = 0;
+    private int nextChunkSerial = 0; // No se reinicia: ver TowerChunk.serial
+    private float maxHeight = 0f;  // Altura máxima alcanzada: la puntuación
+
+    /** @param seed semilla de la torre; con la misma semilla y la misma entrada la partida es idéntica */
+    public Simulation(long seed) {
+        this(seed, TowerParameters.DEFAULT);
+    }
+
+    /** @param parameters reparto de los segmentos de la torre; el juego usa {@link TowerParameters#DEFAULT} */
+    public Simulation(long seed, TowerParameters parameters) {
+        this(seed, parameters, false);
+    }
+
+    /**
+     * @param backgroundGeneration si la torre se genera en un hilo aparte ({@link BackgroundTowerSource});
+     *                             la torre es la misma, pero hay que llamar a {@link #dispose}
+     */
+    public Simulation(long seed, TowerParameters parameters, boolean backgroundGeneration) {
+        tower = backgroundGeneration
+            ? new BackgroundTowerSource(leftWalls, rightWalls, seed, parameters)
+            : new TowerGenerator(leftWalls, rightWalls, seed, parameters);
+        // Creamos al jugador, centrado horizontalmente sobre el suelo
+        player = new Player(getSpawnX(), tower.getGroundHeight());
+        start();
+    }
+
+    /** Juega un nivel hecho a mano; sus segmentos se copian del fichero según se sube. */
+    public Simulation(TowerLayout layout) {
+        tower = new TowerLayoutSource(layout, leftWalls, rightWalls);
+        player = new Player(getSpawnX(), tower.getGroundHeight());
+        start();
+    }
+
+    private void start() {
+        pickupSystem = new PickupSystem(player);
+        systems = new EntitySystem[]{
+            new MovementSystem(),
+            new WallCollisionSystem(leftWalls, leftWallIndex, rightWalls, rightWallIndex, tower),
+            pickupSystem,
+        };
+        maxHeight = player.position.y;
+        streamAround(player.position.y);
+    }
+
+    /**
+     * Genera tramos hasta {@code y + STREAM_AHEAD} y libera los que quedan enteros por debajo
+     * de {@code y - STREAM_BEHIND}. Una vez dimensionados los arrays no reserva memoria.
+     */
+    public void streamAround(float y) {
+        streamTo(y + STREAM_AHEAD);
+
+        float evictBelow = y - STREAM_BEHIND;
+        while (chunks.size > 0 && chunks.first().topY < evictBelow) {
+            freeChunk(chunks.removeIndex(0));
+        }
+        leftWallIndex.trimBelow(evictBelow);
+        rightWallIndex.trimBelow(evictBelow);
+
+        // Las entidades que se quedan por debajo de lo que se conserva de la torre desaparecen
+        for (int i = entities.size() - 1; i >= 0; i--) {
+            int id = entities.getEntity(i);
+            if (entities.has(id, EntityWorld.POSITION) && entities.getY(id) < evictBelow) {
+                entities.destroy(id);
+            }
+        }
+    }
+
+    /**
+     * Genera tramos hasta que la torre llegue a {@code topY}, sin liberar nada. Sirve para asegurar
+     * que lo que va a ver la cámara ya existe aunque quede por encima de {@link #STREAM_AHEAD}.
+     */
+    public void streamTo(float topY) {
+        while (tower.hasMore() && tower.getCursorY() < topY) {
+            streamChunk();
+        }
+    }
+
+    /** Pide el siguiente tramo a la torre y mete sus segmentos en el índice. */
+    private void streamChunk() {
+        TowerChunk chunk = chunkPool.obtain();
+        tower.fill(chunk);
+        chunk.serial = nextChunkSerial++;
+        for (int id = chunk.leftFirstId; id < chunk.leftEndId; id++) {
+            leftWallIndex.add(id);
+        }
+        for (int id = chunk.rightFirstId; id < chunk.rightEndId; id++) {
+            rightWallIndex.add(id);
+        }
+        chunks.add(chunk);
+        chunksStreamed++;
+    }
+
+    /** Libera el tramo más bajo: sus ids son siempre los más antiguos de cada pared. */
+    private void freeChunk(TowerChunk chunk) {
+        for (int id = chunk.leftFirstId; id < chunk.leftEndId; id++) {
+            leftWallIndex.remove(id);
+        }
+        for (int id = chunk.rightFirstId; id < chunk.rightEndId; id++) {
+            rightWallIndex.remove(id);
+        }
+        leftWalls.removeBefore(chunk.leftEndId);
+        rightWalls.removeBefore(chunk.rightEndId);
+        chunkPool.free(chunk);
+        chunksFreed++;
+    }
+
+    /** Avanza un paso fijo de simulación con la entrada indicada. */
+    public void step(float delta, InputSnapshot input) {
+        // Ejecutar la acción de salto si hubo un toque desde el último paso
+        if (input.justTouched) {
+            player.onTap();
+        }
+
+        // Actualizar al jugador
+        player.update(delta, input.touched);
+
+        // Colisión continua con las paredes: se barre la caja del jugador desde donde empezó el paso
+        resolveWallContacts();
+
+        for (EntitySystem system : systems) {
+            system.update(entities, delta);
+        }
+        player.updatePose(delta);
+
+        tick++;
+        maxHeight = Math.max(maxHeight, player.position.y);
+
+        // Generar la torre por delante y liberar lo que ya quedó atrás
+        streamAround(player.position.y);
+    }
+
+    /**
+     * Barre la caja del jugador desde {@code previousPosition} hasta {@code position} contra los segmentos
+     * cercanos de las dos paredes y se queda con el primer contacto en el tiempo. Así un paso largo
+     * (un tirón, un tick bajo o un salto más rápido) no atraviesa un tile de 64 px sin tocarlo.
+     * El jugador se pega al borde interior del tile, como antes, y deja de moverse en ese paso.
+     */
+    private void resolveWallContacts() {
+        float startX = player.previousPosition.x;
+        float startY = player.previousPosition.y;
+        float dx = player.position.x - startX;
+        float dy = player.position.y - startY;
+
+        // Broadphase con todo el recorrido vertical del paso, no solo con la posición final
+        float minY = Math.min(startY, player.position.y);
+        float maxY = Math.max(startY, player.position.y) + Player.HEIGHT;
+
+        contactTime = NO_CONTACT;
+        contactWall = -1;
+        sweepWalls(leftWalls, leftWallIndex, true, startX, startY, dx, dy, minY, maxY);
+        sweepWalls(rightWalls, rightWallIndex, false, startX, startY, dx, dy, minY, maxY);
+        if (contactWall < 0) return;
+
+        WallStore walls = contactLeft ? leftWalls : rightWalls;
+        float y;
+        if (contactTime <= 0f) {
+            // Ya solapaba al empezar el paso: se corrige solo la X, como hacía el ajuste antiguo
+            y = player.position.y;
+        } else if (contactOnYAxis) {
+            // Entró por arriba o por abajo: se deja un poco dentro para que el contacto se mantenga
+            y = startY + dy * contactTime + Math.signum(dy) * CONTACT_SKIN;
+        } else {
+            y = startY + dy * contactTime;
+        }
+
+        if (contactLeft) {
+            // Pared izquierda: el jugador se "pega" en el borde derecho del tile
+            player.position.set(walls.getX(contactWall) + walls.getWidth(contactWall), y);
+            player.currentState = Player.PlayerState.ON_WALL_LEFT;
+        } else {
+            // Pared derecha: el lado derecho del jugador se alinea al borde izquierdo del tile
+            player.position.set(walls.getX(contactWall) - Player.WIDTH, y);
+            player.currentState = Player.PlayerState.ON_WALL_RIGHT;
+        }
+        player.bounds.setPosition(player.position.x, player.position.y);
+        player.hasAirBounced = false;
+    }
+
+    /** Guarda en {@code contact*} el segmento de {@code walls} con el que el barrido choca antes. */
+    private void sweepWalls(WallStore walls, VerticalBandIndex index, boolean left,
+                            float startX, float startY, float dx, float dy, float minY, float maxY) {
+        nearbyWalls.clear();
+        index.query(minY, maxY, nearbyWalls);
+        for (int i = 0; i < nearbyWalls.size; i++) {
+            int wall = nearbyWalls.get(i);
+            float time = sweeper.sweep(startX, startY, Player.WIDTH, Player.HEIGHT, dx, dy,
+                walls.getX(wall), walls.getY(wall), walls.getWidth(wall), walls.getHeight(wall));
+            // A igual tiempo gana el primero encontrado (izquierda antes que derecha, ids de menor a mayor)
+            if (time < contactTime) {
+                contactTime = time;
+                contactWall = wall;
+                contactLeft = left;
+                contactOnYAxis = sweeper.onYAxis;
+            }
+        }
+    }
+
+    /** Vuelve a empezar con la misma semilla (la misma torre). */
+    public void reset() {
+        reset(tower.getSeed());
+    }
+
+    /** Vuelve a empezar: jugador en el suelo y torre nueva, reutilizando los arrays y los tramos. */
+    public void reset(long seed) {
+        clear(seed);
+        player.reset(getSpawnX(), tower.getGroundHeight());
+        maxHeight = player.position.y;
+        streamAround(player.position.y);
+    }
+
+    /** Vacía la torre, las entidades y los contadores, y reinicia la fuente de la torre con {@code seed}. */
+    private void clear(long seed) {
+        chunkPool.freeAll(chunks);
+        chunks.clear();
+        leftWallIndex.clear();
+        rightWallIndex.clear();
+        leftWalls.clear();
+        rightWalls.clear();
+        entities.clear();
+        pickupSystem.reset();
+        tower.reset(seed);
+        tick = 0;
+        chunksStreamed = 0;
+        chunksFreed = 0;
+    }
+
+    /** Guarda en {@code out} lo necesario para volver a este paso con {@link #restore}. No crea objetos. */
+    public void save(SimulationSnapshot out) {
+        out.seed = tower.getSeed();
+        out.tick = tick;
+        out.maxHeight = maxHeight;
+        out.pickupsCollected = pickupSystem.getCollected();
+        out.chunksStreamed = chunksStreamed;
+        out.chunksFreed = chunksFreed;
+        out.cursorY = tower.getCursorY();
+        player.save(out);
+    }
+
+    /**
+     * Vuelve al estado guardado en {@code snapshot}: regenera la torre con su semilla hasta el mismo
+     * tramo (liberando por el camino los que ya estaban liberados, así la memoria no crece con la
+     * altura) y deja al jugador y los contadores como estaban. Lo que pase después es idéntico a
+     * lo que habría pasado sin guardar. Una vez dimensionados los arrays no reserva memoria.
+     *
+     * @throws IllegalArgumentException si la instantánea no es de esta torre
+     */
+    public void restore(SimulationSnapshot snapshot) {
+        clear(snapshot.seed);
+        for (int i = 0; i < snapshot.chunksStreamed; i++) {
+            if (!tower.hasMore()) {
+                throw new IllegalArgumentException("La torre se acaba antes del tramo " + snapshot.chunksStreamed);
+            }
+            streamChunk();
+            if (chunksFreed < snapshot.chunksFreed) {
+                while (chunksFreed < snapshot.chunksFreed && chunks.size > 0) {
+                    freeChunk(chunks.removeIndex(0));
+                }
+                // Las franjas vacías de lo liberado se reutilizan en lugar de acumularse
+                float firstLiveY = chunks.size > 0 ? chunks.first().bottomY : tower.getCursorY();
+                leftWallIndex.trimBelow(firstLiveY);
+                rightWallIndex.trimBelow(firstLiveY);
+            }
+        }
+        if (tower.getCursorY() != snapshot.cursorY) {
+            throw new IllegalArgumentException("La instantánea es de otra torre: cursor " + tower.getCursorY()
+                + " en lugar de " + snapshot.cursorY);
+        }
+        float evictBelow = snapshot.y - STREAM_BEHIND;
+        leftWallIndex.trimBelow(evictBelow);
+        rightWallIndex.trimBelow(evictBelow);
+
+        player.restore(snapshot);
+        pickupSystem.setCollected(snapshot.pickupsCollected);
+        tick = snapshot.tick;
+        maxHeight = snapshot.maxHeight;
+    }
+
+    /**
+     * Resumen del estado del jugador; dos partidas con la misma semilla y la misma entrada
+     * tienen que dar el mismo valor en el mismo paso.
+     */
+    public long checksum() {
+        long hash = tick;
+        hash = hash * 31 + Float.floatToIntBits(player.position.x);
+        hash = hash * 31 + Float.floatToIntBits(player.position.y);
+        hash = hash * 31 + Float.floatToIntBits(player.velocity.x);
+        hash = hash * 31 + Float.floatToIntBits(player.velocity.y);
+        hash = hash * 31 + player.currentState.ordinal();
+        hash = hash * 31 + (player.hasAirBounced ? 1 : 0);
+        hash = hash * 31 + Float.floatToIntBits(maxHeight);
+        // Sin entidades el valor es el de siempre, así que las grabaciones antiguas siguen valiendo
+        for (int i = 0; i < entities.size(); i++) {
+            int id = entities.getEntity(i);
+            hash = hash * 31 + id;
+            hash = hash * 31 + Float.floatToIntBits(entities.getX(id));
+            hash = hash * 31 + Float.floatToIntBits(entities.getY(id));
+        }
+        return hash;
+    }
+
+    /** Crea un objeto recogible de {@code size} x {@code size} que cae y rebota contra paredes y suelo. */
+    public int spawnPickup(float x, float y, float size, float velocityX, float velocityY) {
+        int id = entities.create(EntityWorld.POSITION | EntityWorld.VELOCITY | EntityWorld.GRAVITY
+            | EntityWorld.BODY | EntityWorld.SOLID | EntityWorld.SPRITE | EntityWorld.PICKUP);
+        entities.setPosition(id, x, y);
+        entities.setVelocity(id, velocityX, velocityY);
+        entities.setBody(id, size, size, 0.5f);
+        entities.setSprite(id, EntityWorld.SPRITE_GEM);
+        return id;
+    }
+
+    /** Si el jugador ya ha caído demasiado para volver a subir; la partida se da por acabada. */
+    public boolean isRunOver() {
+        return maxHeight - player.position.y > FALL_LIMIT;
+    }
+
+    public EntityWorld getEntities() {
+        return entities;
+    }
+
+    /** Objetos recogidos desde el último reset. */
+    public int getPickupsCollected() {
+        return pickupSystem.getCollected();
+    }
+
+    public TowerSource getTower() {
+        return tower;
+    }
+
+    public long getSeed() {
+        return tower.getSeed();
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public float getMaxHeight() {
+        return maxHeight;
+    }
+
+    public static float getSpawnX() {
+        return (WORLD_WIDTH - Player.WIDTH) / 2;
+    }
+
+    /** Altura de salida en las torres generadas; los niveles de fichero traen su propio suelo. */
+    public static float getSpawnY() {
+        return GROUND_HEIGHT; // Inicia justo sobre el suelo
+    }
+
+    /** Para el hilo de generación, si lo hay. */
+    public void dispose() {
+        if (tower instanceof Disposable) {
+            ((Disposable) tower).dispose();
+        }
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public WallStore getLeftWalls() {
+        return leftWalls;
+    }
+
+    public WallStore getRightWalls() {
+        return rightWalls;
+    }
+
+    /** Tramos de torre vivos, ordenados de abajo arriba. */
+    public Array<TowerChunk> getChunks() {
+        return chunks;
+    }
+}
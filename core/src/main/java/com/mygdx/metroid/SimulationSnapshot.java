@@ -0,0 +1,142 @@
+package com.mygdx.metroid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Instantánea del estado de una {@link Simulation}: el jugador al completo, los contadores de la
+ * partida y por dónde va la torre. La torre no se guarda: se vuelve a generar con la semilla
+ * hasta el mismo tramo, así que el bloque es pequeño y siempre del mismo tamaño.
+ * Las entidades no entran; el juego todavía no crea ninguna por su cuenta.
+ *
+ * Formato binario (big endian, {@link #SIZE} bytes):
+ * <pre>
+ * offset  tipo   campo
+ *      0  int    magic "MTSS" ({@link #MAGIC})
+ *      4  byte   versión ({@link #VERSION})
+ *      5  long   semilla
+ *     13  long   paso (tick)
+ *     21  float  altura máxima
+ *     25  int    objetos recogidos
+ *     29  int    tramos generados
+ *     33  int    tramos liberados
+ *     37  float  cursor de la torre
+ *     41  float  x, y (posición)
+ *     49  float  x, y (posición anterior)
+ *     57  float  x, y (velocidad)
+ *     65  byte   estado ({@link Player.PlayerState#ordinal()})
+ *     66  byte   banderas: 1 = rebote en el aire usado, 2 = saltando, 4 = pose de salto
+ *     67  float  tiempo de salto mantenido (jumpHoldTime)
+ *     71  float  lo que le queda a la pose de salto (climbTimer)
+ * </pre>
+ */
+public class SimulationSnapshot {
+    public static final int MAGIC = 0x4D545353; // "MTSS"
+    public static final int VERSION = 1;
+    public static final int SIZE = 4 + 1 + 8 + 8 + 4 + 4 + 4 + 4 + 4 + 6 * 4 + 1 + 1 + 4 + 4;
+
+    // Banderas del jugador
+    private static final int AIR_BOUNCED = 1;
+    private static final int JUMPING = 2;
+    private static final int CLIMB_POSE = 4;
+
+    // Partida y torre
+    public long seed;
+    public long tick;
+    public float maxHeight;
+    public int pickupsCollected;
+    public int chunksStreamed;
+    public int chunksFreed;
+    public float cursorY; // Para comprobar al restaurar que la torre regenerada es la misma
+
+    // Jugador
+    public float x, y;
+    public float previousX, previousY;
+    public float velocityX, velocityY;
+    public Player.PlayerState state = Player.PlayerState.ON_GROUND;
+    public boolean hasAirBounced;
+    public boolean isJumping;
+    public float jumpHoldTime;
+    public boolean climbPose;
+    public float climbTimer;
+
+    public void set(SimulationSnapshot other) {
+        seed = other.seed;
+        tick = other.tick;
+        maxHeight = other.maxHeight;
+        pickupsCollected = other.pickupsCollected;
+        chunksStreamed = other.chunksStreamed;
+        chunksFreed = other.chunksFreed;
+        cursorY = other.cursorY;
+        x = other.x;
+        y = other.y;
+        previousX = other.previousX;
+        previousY = other.previousY;
+        velocityX = other.velocityX;
+        velocityY = other.velocityY;
+        state = other.state;
+        hasAirBounced = other.hasAirBounced;
+        isJumping = other.isJumping;
+        jumpHoldTime = other.jumpHoldTime;
+        climbPose = other.climbPose;
+        climbTimer = other.climbTimer;
+    }
+
+    /** Escribe {@link #SIZE} bytes desde la posición actual de {@code out}. */
+    public void write(ByteBuffer out) {
+        out.putInt(MAGIC);
+        out.put((byte) VERSION);
+        out.putLong(seed);
+        out.putLong(tick);
+        out.putFloat(maxHeight);
+        out.putInt(pickupsCollected);
+        out.putInt(chunksStreamed);
+        out.putInt(chunksFreed);
+        out.putFloat(cursorY);
+        out.putFloat(x);
+        out.putFloat(y);
+        out.putFloat(previousX);
+        out.putFloat(previousY);
+        out.putFloat(velocityX);
+        out.putFloat(velocityY);
+        out.put((byte) state.ordinal());
+        out.put((byte) ((hasAirBounced ? AIR_BOUNCED : 0) | (isJumping ? JUMPING : 0) | (climbPose ? CLIMB_POSE : 0)));
+        out.putFloat(jumpHoldTime);
+        out.putFloat(climbTimer);
+    }
+
+    /** Lee {@link #SIZE} bytes desde la posición actual de {@code in}. */
+    public void read(ByteBuffer in) throws IOException {
+        if (in.remaining() < SIZE) throw new IOException("Instantánea incompleta: " + in.remaining() + " bytes");
+        if (in.getInt() != MAGIC) throw new IOException("No es una instantánea de partida (magic incorrecto)");
+        int version = in.get() & 0xFF;
+        if (version != VERSION) throw new IOException("Versión de instantánea no soportada: " + version);
+
+        seed = in.getLong();
+        tick = in.getLong();
+        maxHeight = in.getFloat();
+        pickupsCollected = in.getInt();
+        chunksStreamed = in.getInt();
+        chunksFreed = in.getInt();
+        if (chunksStreamed < 0 || chunksFreed < 0 || chunksFreed > chunksStreamed) {
+            throw new IOException("Tramos inválidos: " + chunksFreed + " liberados de " + chunksStreamed);
+        }
+        cursorY = in.getFloat();
+        x = in.getFloat();
+        y = in.getFloat();
+        previousX = in.getFloat();
+        previousY = in.getFloat();
+        velocityX = in.getFloat();
+        velocityY = in.getFloat();
+        int stateIndex = in.get() & 0xFF;
+        Player.PlayerState[] states = Player.PlayerState.values();
+        if (stateIndex >= states.length) throw new IOException("Estado de jugador inválido: " + stateIndex);
+        state = states[stateIndex];
+        int flags = in.get();
+        hasAirBounced = (flags & AIR_BOUNCED) != 0;
+        isJumping = (flags & JUMPING) != 0;
+        climbPose = (flags & CLIMB_POSE) != 0;
+        jumpHoldTime = in.getFloat();
+        climbTimer = in.getFloat();
+    }
+}
@@ -0,0 +1,90 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Guarda la {@link SimulationSnapshot} de la partida en un fichero.
+ * El hilo de render solo codifica los {@link SimulationSnapshot#SIZE} bytes; la escritura la hace un
+ * hilo aparte, primero en un fichero temporal que luego sustituye al bueno con un renombrado atómico
+ * (rename en Android y Linux/macOS, MoveFileEx en Windows). Si el sistema de ficheros no admite el
+ * renombrado atómico no se copia: se registra el error y se conserva la partida anterior. Así un cierre
+ * a medias (Android puede matar la app tras {@code pause}) nunca deja el fichero bueno truncado.
+ */
+public class SnapshotFile implements Disposable {
+    private final FileHandle file;
+    private final FileHandle tempFile;
+    private final AsyncExecutor writer = new AsyncExecutor(1, "SnapshotWriter");
+    // java.nio.file no existe en las versiones de Android que soportamos; allí File.renameTo ya es rename(2)
+    private final boolean android = Gdx.app.getType() == Application.ApplicationType.Android;
+
+    public SnapshotFile(FileHandle file) {
+        this.file = file;
+        tempFile = file.sibling(file.name() + ".tmp");
+    }
+
+    /** Codifica la instantánea y la escribe en segundo plano; las escrituras se hacen en orden. */
+    public void save(SimulationSnapshot snapshot) {
+        ByteBuffer buffer = ByteBuffer.allocate(SimulationSnapshot.SIZE);
+        snapshot.write(buffer);
+        final byte[] bytes = buffer.array();
+        writer.submit(() -> {
+            try {
+                tempFile.writeBytes(bytes, false);
+                replace(tempFile.file(), file.file());
+            } catch (IOException | GdxRuntimeException e) {
+                Gdx.app.error("SnapshotFile", "No se pudo guardar la partida en " + file.path(), e);
+            }
+            return null;
+        });
+    }
+
+    /** Sustituye {@code target} por {@code source} de una vez; si no se puede, {@code target} queda como estaba. */
+    private void replace(File source, File target) throws IOException {
+        if (android) {
+            if (!source.renameTo(target)) throw new IOException("No se pudo renombrar " + source + " a " + target);
+        } else {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Lee la última instantánea guardada.
+     *
+     * @return false si no hay ninguna o no se puede leer
+     */
+    public boolean load(SimulationSnapshot out) {
+        if (!file.exists()) return false;
+        try {
+            out.read(ByteBuffer.wrap(file.readBytes()));
+            return true;
+        } catch (IOException | GdxRuntimeException e) {
+            Gdx.app.error("SnapshotFile", "No se pudo leer la partida guardada en " + file.path(), e);
+            return false;
+        }
+    }
+
+    /** Borra la partida guardada (en orden con las escrituras pendientes). */
+    public void delete() {
+        writer.submit(() -> {
+            file.delete();
+            return null;
+        });
+    }
+
+    /** Espera a que terminen las escrituras pendientes. */
+    @Override
+    public void dispose() {
+        writer.dispose();
+    }
+}
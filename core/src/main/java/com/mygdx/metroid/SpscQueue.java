@@ -0,0 +1,54 @@
+package com.mygdx.metroid;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cola circular sin bloqueos para exactamente un productor y un consumidor (cada uno en su hilo).
+ * Cada extremo solo escribe su propio contador, así que basta con publicarlo con {@code lazySet}
+ * después de tocar el hueco; el otro hilo lo lee con {@code get} y ve el elemento ya escrito.
+ * No crea objetos al encolar ni al desencolar.
+ */
+public class SpscQueue<T> {
+    private final Object[] buffer;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Siguiente posición a leer; solo la escribe el consumidor
+    private final AtomicLong tail = new AtomicLong(); // Siguiente posición a escribir; solo la escribe el productor
+
+    /** @param capacity se redondea a la siguiente potencia de dos */
+    public SpscQueue(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity debe ser >= 1: " + capacity);
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[Math.max(1, size)];
+        mask = buffer.length - 1;
+    }
+
+    /** Solo desde el hilo productor. @return false si la cola está llena */
+    public boolean offer(T value) {
+        long t = tail.get();
+        if (t - head.get() == buffer.length) return false;
+        buffer[(int) t & mask] = value;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /** Solo desde el hilo consumidor. @return null si la cola está vacía */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long h = head.get();
+        if (h == tail.get()) return null;
+        int slot = (int) h & mask;
+        T value = (T) buffer[slot];
+        buffer[slot] = null;
+        head.lazySet(h + 1);
+        return value;
+    }
+
+    /** Aproximado si se llama mientras el otro hilo trabaja. */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+}
@@ -0,0 +1,57 @@
+package com.mygdx.metroid;
+
+/**
+ * Barrido de una caja en movimiento contra una caja quieta (AABB). Lo usan el jugador y las entidades
+ * para que un paso largo no atraviese un tile sin tocarlo. Guarda por qué eje entró el último contacto
+ * en un campo para no tener que devolver un objeto.
+ */
+final class SweptAabb {
+    static final float NO_CONTACT = Float.POSITIVE_INFINITY;
+
+    /** Si el último contacto encontrado entró por el eje vertical (por arriba o por abajo). */
+    boolean onYAxis;
+    /** Si en el último contacto las cajas ya se solapaban al empezar el barrido. */
+    boolean startedInside;
+
+    /**
+     * Fracción [0, 1] del desplazamiento (dx, dy) en la que la caja (x, y, w, h) empieza a solaparse con
+     * (wx, wy, ww, wh), 0 si ya solapaban y {@link #NO_CONTACT} si no llegan a tocarse. Tocarse sin solapar
+     * no cuenta, igual que {@code Rectangle.overlaps}.
+     */
+    float sweep(float x, float y, float w, float h, float dx, float dy, float wx, float wy, float ww, float wh) {
+        float entryX, exitX;
+        if (dx > 0f) {
+            entryX = (wx - (x + w)) / dx;
+            exitX = (wx + ww - x) / dx;
+        } else if (dx < 0f) {
+            entryX = (wx + ww - x) / dx;
+            exitX = (wx - (x + w)) / dx;
+        } else if (x < wx + ww && x + w > wx) {
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else {
+            return NO_CONTACT;
+        }
+
+        float entryY, exitY;
+        if (dy > 0f) {
+            entryY = (wy - (y + h)) / dy;
+            exitY = (wy + wh - y) / dy;
+        } else if (dy < 0f) {
+            entryY = (wy + wh - y) / dy;
+            exitY = (wy - (y + h)) / dy;
+        } else if (y < wy + wh && y + h > wy) {
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else {
+            return NO_CONTACT;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+        if (entry >= exit || entry > 1f || exit <= 0f) return NO_CONTACT;
+        onYAxis = entryY > entryX;
+        startedInside = entry < 0f;
+        return Math.max(entry, 0f);
+    }
+}
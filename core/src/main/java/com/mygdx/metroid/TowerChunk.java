@@ -0,0 +1,32 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Tramo de torre generado de una vez: el rango de ids de cada pared en su {@link WallStore}
+ * (de abajo arriba, [first, end)) y su rango vertical.
+ */
+public class TowerChunk implements Pool.Poolable {
+    public int leftFirstId;
+    public int leftEndId;
+    public int rightFirstId;
+    public int rightEndId;
+    public float bottomY;
+    public float topY;
+    // Distinto en cada tramo de una simulación, también tras reiniciarla; sirve de clave para cachear
+    // lo que se calcula a partir del tramo (ver ChunkMeshCache), ya que los objetos se reutilizan
+    public int serial = -1;
+
+    public int getWallCount() {
+        return (leftEndId - leftFirstId) + (rightEndId - rightFirstId);
+    }
+
+    @Override
+    public void reset() {
+        leftFirstId = leftEndId = 0;
+        rightFirstId = rightEndId = 0;
+        bottomY = 0f;
+        topY = 0f;
+        serial = -1;
+    }
+}
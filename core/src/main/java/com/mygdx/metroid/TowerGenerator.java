@@ -0,0 +1,129 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Genera la torre por tramos hacia arriba, a demanda.
+ * Los segmentos se escriben en los {@link WallStore} de cada pared, así que generar no crea objetos.
+ * Usa su propio generador aleatorio con semilla: la misma semilla produce siempre la misma torre.
+ */
+public class TowerGenerator implements TowerSource {
+    public static final int SEGMENTS_PER_CHUNK = 10;
+
+    // Separación vertical entre segmentos y desfase de la pared derecha respecto a la izquierda
+    public static final float MIN_GAP = 120f;
+    public static final float MAX_GAP = 250f;
+    public static final float MIN_RIGHT_OFFSET = -60f;
+    public static final float MAX_RIGHT_OFFSET = 80f;
+    public static final float SPAWN_CHANCE = 0.9f;
+
+    private final TowerParameters parameters;
+
+    private final WallStore leftWalls;
+    private final WallStore rightWalls;
+    private final RandomXS128 random = new RandomXS128();
+    private long seed;
+    private float currentY = 0f; // Altura del último segmento generado
+
+    public TowerGenerator(WallStore leftWalls, WallStore rightWalls, long seed) {
+        this(leftWalls, rightWalls, seed, TowerParameters.DEFAULT);
+    }
+
+    public TowerGenerator(WallStore leftWalls, WallStore rightWalls, long seed, TowerParameters parameters) {
+        this.leftWalls = leftWalls;
+        this.rightWalls = rightWalls;
+        this.parameters = parameters;
+        reset(seed);
+    }
+
+    /** Rellena {@code chunk} con los siguientes {@link #SEGMENTS_PER_CHUNK} segmentos de pared. */
+    @Override
+    public void fill(TowerChunk chunk) {
+        float bottomY = Float.MAX_VALUE;
+        float topY = currentY;
+        chunk.leftFirstId = leftWalls.getEndId();
+        chunk.rightFirstId = rightWalls.getEndId();
+
+        for (int i = 0; i < SEGMENTS_PER_CHUNK; i++) {
+            // Separación vertical aleatoria
+            float verticalGap = random(parameters.minGap, parameters.maxGap);
+            currentY += verticalGap;
+
+            // Probabilidad de generar plataformas en uno u otro lado
+            boolean spawnLeft = randomBoolean(parameters.spawnChance);  // 90% por defecto de que haya en la izquierda
+            boolean spawnRight = randomBoolean(parameters.spawnChance); // 90% por defecto de que haya en la derecha
+
+            // Offset vertical adicional aleatorio entre lados
+            float offsetY = random(parameters.minRightOffset, parameters.maxRightOffset);
+
+            if (spawnLeft) {
+                addWall(leftWalls, 0, currentY, true);
+                bottomY = Math.min(bottomY, currentY);
+                topY = Math.max(topY, currentY + Simulation.WALL_TILE_SIZE);
+            }
+
+            if (spawnRight) {
+                float y = currentY + offsetY;
+                addWall(rightWalls, Simulation.WORLD_WIDTH - Simulation.WALL_TILE_SIZE, y, false);
+                bottomY = Math.min(bottomY, y);
+                topY = Math.max(topY, y + Simulation.WALL_TILE_SIZE);
+            }
+        }
+
+        chunk.leftEndId = leftWalls.getEndId();
+        chunk.rightEndId = rightWalls.getEndId();
+        chunk.bottomY = bottomY == Float.MAX_VALUE ? currentY : bottomY;
+        chunk.topY = topY;
+    }
+
+    private void addWall(WallStore walls, float x, float y, boolean rotateLeft) {
+        // Aplicar variación visual solo una vez
+        float scale = random(0.95f, 1.05f);
+        float rotationOffset = random(-5f, 5f);
+        float rotation = rotateLeft ? -90 + rotationOffset : 90 + rotationOffset;
+        walls.add(x, y, Simulation.WALL_TILE_SIZE, Simulation.WALL_TILE_SIZE, scale, rotation);
+    }
+
+    // Mismo reparto que MathUtils.random/randomBoolean, pero con nuestra semilla
+    private float random(float start, float end) {
+        return start + random.nextFloat() * (end - start);
+    }
+
+    private boolean randomBoolean(float chance) {
+        return random.nextFloat() < chance;
+    }
+
+    /** Altura hasta la que ya se ha generado la torre. */
+    @Override
+    public float getCursorY() {
+        return currentY;
+    }
+
+    /** La torre generada no se acaba nunca. */
+    @Override
+    public boolean hasMore() {
+        return true;
+    }
+
+    @Override
+    public float getGroundHeight() {
+        return Simulation.GROUND_HEIGHT;
+    }
+
+    public TowerParameters getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Vuelve a empezar la torre desde el suelo con la semilla indicada. */
+    @Override
+    public void reset(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+        currentY = 0f;
+    }
+}
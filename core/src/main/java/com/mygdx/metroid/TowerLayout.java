@@ -0,0 +1,136 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Nivel hecho a mano en formato binario: alto del suelo y los segmentos de cada pared, ordenados por Y,
+ * con su escala y rotación (la variación que antes se sorteaba al crear cada plataforma).
+ * Los segmentos no se copian al abrir: se leen del buffer (mapeado en memoria cuando se puede) a medida
+ * que {@link TowerLayoutSource} los va necesitando, así que abrir un mapa enorme es inmediato.
+ * Se genera en escritorio con {@code lwjgl3:convertTower}.
+ *
+ * Formato (little endian, la del hardware de escritorio y Android): magic "MTWR", versión (int),
+ * alto del suelo (float), nº de segmentos izquierdos (int), nº de derechos (int), y después los
+ * izquierdos y los derechos como [x, y, ancho, alto, escala, rotación] (6 floats).
+ */
+public final class TowerLayout {
+    public static final int MAGIC = 0x4D545752; // "MTWR"
+    public static final int VERSION = 1;
+
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+
+    private static final int HEADER_BYTES = 20;
+    private static final int SEGMENT_BYTES = 24;
+
+    private final ByteBuffer data;
+    private final float groundHeight;
+    private final int leftCount;
+    private final int rightCount;
+
+    private TowerLayout(ByteBuffer data) {
+        this.data = data.order(ByteOrder.LITTLE_ENDIAN);
+        if (data.remaining() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new GdxRuntimeException("No es un nivel de torre (magic incorrecto)");
+        }
+        int version = data.getInt(4);
+        if (version != VERSION) throw new GdxRuntimeException("Versión de nivel no soportada: " + version);
+        groundHeight = data.getFloat(8);
+        leftCount = data.getInt(12);
+        rightCount = data.getInt(16);
+        long expected = HEADER_BYTES + (long) (leftCount + rightCount) * SEGMENT_BYTES;
+        if (leftCount < 0 || rightCount < 0 || data.limit() < expected) {
+            throw new GdxRuntimeException("Nivel truncado: " + data.limit() + " bytes, se esperaban " + expected);
+        }
+    }
+
+    /**
+     * Abre un nivel. En escritorio (y en Android si el asset no está comprimido) el fichero se mapea
+     * en memoria; si no se puede, se lee entero de una vez.
+     */
+    public static TowerLayout open(FileHandle file) {
+        ByteBuffer buffer;
+        try {
+            buffer = file.map(FileChannel.MapMode.READ_ONLY);
+        } catch (GdxRuntimeException e) {
+            buffer = ByteBuffer.wrap(file.readBytes());
+        }
+        return new TowerLayout(buffer);
+    }
+
+    /** Usa {@code data} tal cual, desde la posición 0. */
+    public static TowerLayout wrap(ByteBuffer data) {
+        return new TowerLayout(data);
+    }
+
+    public float getGroundHeight() {
+        return groundHeight;
+    }
+
+    /** @param wall {@link #LEFT} o {@link #RIGHT} */
+    public int getCount(int wall) {
+        return wall == LEFT ? leftCount : rightCount;
+    }
+
+    public float getX(int wall, int index) {
+        return data.getFloat(offset(wall, index));
+    }
+
+    public float getY(int wall, int index) {
+        return data.getFloat(offset(wall, index) + 4);
+    }
+
+    public float getWidth(int wall, int index) {
+        return data.getFloat(offset(wall, index) + 8);
+    }
+
+    public float getHeight(int wall, int index) {
+        return data.getFloat(offset(wall, index) + 12);
+    }
+
+    public float getScale(int wall, int index) {
+        return data.getFloat(offset(wall, index) + 16);
+    }
+
+    public float getRotation(int wall, int index) {
+        return data.getFloat(offset(wall, index) + 20);
+    }
+
+    private int offset(int wall, int index) {
+        return HEADER_BYTES + (wall == LEFT ? index : leftCount + index) * SEGMENT_BYTES;
+    }
+
+    /**
+     * Escribe un nivel con los segmentos vivos de {@code leftWalls} y {@code rightWalls}, que tienen que
+     * estar ya ordenados por Y dentro de cada pared.
+     */
+    public static void write(OutputStream output, float groundHeight, WallStore leftWalls, WallStore rightWalls)
+        throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + (leftWalls.size() + rightWalls.size()) * SEGMENT_BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putFloat(groundHeight)
+            .putInt(leftWalls.size()).putInt(rightWalls.size());
+        putSegments(buffer, leftWalls);
+        putSegments(buffer, rightWalls);
+        output.write(buffer.array());
+        output.flush();
+    }
+
+    private static void putSegments(ByteBuffer buffer, WallStore walls) throws IOException {
+        float previousY = -Float.MAX_VALUE;
+        for (int id = walls.getFirstId(); id < walls.getEndId(); id++) {
+            if (walls.getY(id) < previousY) throw new IOException("Los segmentos tienen que ir ordenados por Y");
+            previousY = walls.getY(id);
+            buffer.putFloat(walls.getX(id)).putFloat(walls.getY(id))
+                .putFloat(walls.getWidth(id)).putFloat(walls.getHeight(id))
+                .putFloat(walls.getScale(id)).putFloat(walls.getRotation(id));
+        }
+    }
+}
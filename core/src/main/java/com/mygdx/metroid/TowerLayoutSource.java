@@ -0,0 +1,78 @@
+package com.mygdx.metroid;
+
+/**
+ * Entrega los segmentos de un {@link TowerLayout} por tramos, copiándolos del buffer a los
+ * {@link WallStore} solo cuando el jugador se acerca. No crea objetos.
+ */
+public class TowerLayoutSource implements TowerSource {
+    private final TowerLayout layout;
+    private final WallStore leftWalls;
+    private final WallStore rightWalls;
+    private int nextLeft = 0;
+    private int nextRight = 0;
+    private float cursorY = 0f;
+
+    public TowerLayoutSource(TowerLayout layout, WallStore leftWalls, WallStore rightWalls) {
+        this.layout = layout;
+        this.leftWalls = leftWalls;
+        this.rightWalls = rightWalls;
+    }
+
+    /** Mezcla las dos paredes por Y y copia hasta dos segmentos por cada escalón de un tramo generado. */
+    @Override
+    public void fill(TowerChunk chunk) {
+        chunk.leftFirstId = leftWalls.getEndId();
+        chunk.rightFirstId = rightWalls.getEndId();
+        float bottomY = Float.MAX_VALUE;
+        float topY = cursorY;
+
+        int leftCount = layout.getCount(TowerLayout.LEFT);
+        int rightCount = layout.getCount(TowerLayout.RIGHT);
+        for (int i = 0; i < TowerGenerator.SEGMENTS_PER_CHUNK * 2 && hasMore(); i++) {
+            boolean left = nextRight >= rightCount
+                || nextLeft < leftCount && layout.getY(TowerLayout.LEFT, nextLeft) <= layout.getY(TowerLayout.RIGHT, nextRight);
+            int wall = left ? TowerLayout.LEFT : TowerLayout.RIGHT;
+            int index = left ? nextLeft++ : nextRight++;
+            float y = layout.getY(wall, index);
+            float height = layout.getHeight(wall, index);
+            WallStore walls = left ? leftWalls : rightWalls;
+            walls.add(layout.getX(wall, index), y, layout.getWidth(wall, index), height,
+                layout.getScale(wall, index), layout.getRotation(wall, index));
+            bottomY = Math.min(bottomY, y);
+            topY = Math.max(topY, y + height);
+            cursorY = Math.max(cursorY, y);
+        }
+
+        chunk.leftEndId = leftWalls.getEndId();
+        chunk.rightEndId = rightWalls.getEndId();
+        chunk.bottomY = bottomY == Float.MAX_VALUE ? cursorY : bottomY;
+        chunk.topY = topY;
+    }
+
+    @Override
+    public float getCursorY() {
+        return cursorY;
+    }
+
+    @Override
+    public boolean hasMore() {
+        return nextLeft < layout.getCount(TowerLayout.LEFT) || nextRight < layout.getCount(TowerLayout.RIGHT);
+    }
+
+    @Override
+    public float getGroundHeight() {
+        return layout.getGroundHeight();
+    }
+
+    @Override
+    public long getSeed() {
+        return 0L;
+    }
+
+    @Override
+    public void reset(long seed) {
+        nextLeft = 0;
+        nextRight = 0;
+        cursorY = 0f;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mygdx.metroid;
+
+/**
+ * Parámetros de generación de la torre. Son inmutables, así que un mismo objeto puede compartirse
+ * entre simulaciones que corren en hilos distintos (por ejemplo en el ajuste de dificultad).
+ */
+public final class TowerParameters {
+    /** Los valores con los que se juega. */
+    public static final TowerParameters DEFAULT = new TowerParameters(
+        TowerGenerator.MIN_GAP, TowerGenerator.MAX_GAP,
+        TowerGenerator.MIN_RIGHT_OFFSET, TowerGenerator.MAX_RIGHT_OFFSET,
+        TowerGenerator.SPAWN_CHANCE);
+
+    // Separación vertical entre segmentos y desfase de la pared derecha respecto a la izquierda
+    public final float minGap;
+    public final float maxGap;
+    public final float minRightOffset;
+    public final float maxRightOffset;
+    public final float spawnChance; // Probabilidad de que haya segmento en cada pared y altura
+
+    public TowerParameters(float minGap, float maxGap, float minRightOffset, float maxRightOffset, float spawnChance) {
+        if (minGap <= 0f || maxGap < minGap) {
+            throw new IllegalArgumentException("Separación inválida: [" + minGap + ", " + maxGap + "]");
+        }
+        if (maxRightOffset < minRightOffset) {
+            throw new IllegalArgumentException("Desfase inválido: [" + minRightOffset + ", " + maxRightOffset + "]");
+        }
+        if (spawnChance < 0f || spawnChance > 1f) {
+            throw new IllegalArgumentException("spawnChance debe estar en [0, 1]: " + spawnChance);
+        }
+        this.minGap = minGap;
+        this.maxGap = maxGap;
+        this.minRightOffset = minRightOffset;
+        this.maxRightOffset = maxRightOffset;
+        this.spawnChance = spawnChance;
+    }
+
+    @Override
+    public String toString() {
+        return "gap " + minGap + "-" + maxGap + ", offset " + minRightOffset + "-" + maxRightOffset
+            + ", spawn " + spawnChance;
+    }
+}
@@ -0,0 +1,25 @@
+package com.mygdx.metroid;
+
+/**
+ * De dónde salen los tramos de la torre: generados con semilla ({@link TowerGenerator}) o leídos
+ * de un nivel hecho a mano ({@link TowerLayoutSource}). {@link Simulation} los pide a medida que se sube.
+ */
+public interface TowerSource {
+    /** Rellena {@code chunk} con los siguientes segmentos; solo se llama si {@link #hasMore()}. */
+    void fill(TowerChunk chunk);
+
+    /** Altura hasta la que ya se han entregado segmentos. */
+    float getCursorY();
+
+    /** false cuando un nivel cerrado ya entregó todos sus segmentos. */
+    boolean hasMore();
+
+    /** Alto del suelo, donde aparece el jugador. */
+    float getGroundHeight();
+
+    /** Semilla de la torre; 0 en los niveles que no se generan. */
+    long getSeed();
+
+    /** Vuelve a empezar desde el suelo; los niveles fijos ignoran la semilla. */
+    void reset(long seed);
+}
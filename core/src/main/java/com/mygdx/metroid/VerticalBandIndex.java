@@ -0,0 +1,100 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Índice espacial por franjas verticales (broadphase).
+ * Cada segmento se guarda (por id) en la franja de su borde inferior; una consulta por rango de Y
+ * solo recorre las franjas que lo tocan, así que su coste no depende de la altura de la torre.
+ * Sirve para cualquier {@link WallStore}. Las franjas que quedan vacías por debajo se
+ * descartan con {@link #trimBelow}, de modo que la memoria no crece con la altura alcanzada.
+ */
+public class VerticalBandIndex {
+    private final WallStore store;
+    private final float bandHeight;
+    private final Array<IntArray> bands = new Array<>();
+    private final Array<IntArray> spareBands = new Array<>(); // Franjas descartadas, para reutilizar
+    private int firstBand = 0; // Franja absoluta que ocupa bands[0]
+    private float maxHeight = 0f; // Para encontrar segmentos que empiezan en la franja anterior
+    private int size = 0;
+
+    /**
+     * @param bandHeight alto de cada franja; conviene que sea del orden de la separación entre segmentos
+     */
+    public VerticalBandIndex(WallStore store, float bandHeight) {
+        if (bandHeight <= 0f) throw new IllegalArgumentException("bandHeight debe ser positivo: " + bandHeight);
+        this.store = store;
+        this.bandHeight = bandHeight;
+    }
+
+    public void add(int id) {
+        // Lo que caiga por debajo de la primera franja viva se guarda en ella
+        int band = Math.max(bandOf(store.getY(id)), firstBand) - firstBand;
+        while (bands.size <= band) {
+            bands.add(spareBands.size > 0 ? spareBands.pop() : new IntArray(false, 4));
+        }
+        bands.get(band).add(id);
+        maxHeight = Math.max(maxHeight, store.getHeight(id));
+        size++;
+    }
+
+    /** Quita un id; hay que llamarlo antes de descartarlo del {@link WallStore}. */
+    public boolean remove(int id) {
+        int band = Math.max(bandOf(store.getY(id)), firstBand) - firstBand;
+        if (band >= bands.size) return false;
+        if (bands.get(band).removeValue(id)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Añade a {@code out} los ids cuyo rango vertical corta [minY, maxY].
+     * No limpia {@code out} ni crea objetos.
+     */
+    public IntArray query(float minY, float maxY, IntArray out) {
+        if (bands.size == 0) return out;
+        int first = Math.max(bandOf(minY - maxHeight), firstBand) - firstBand;
+        int last = Math.min(bandOf(maxY) - firstBand, bands.size - 1);
+        for (int band = first; band <= last; band++) {
+            IntArray ids = bands.get(band);
+            for (int i = 0; i < ids.size; i++) {
+                int id = ids.get(i);
+                if (store.getY(id) <= maxY && store.getTop(id) >= minY) {
+                    out.add(id);
+                }
+            }
+        }
+        return out;
+    }
+
+    /** Descarta las franjas vacías que quedan enteras por debajo de {@code y}. */
+    public void trimBelow(float y) {
+        while (bands.size > 0 && bands.first().size == 0 && (firstBand + 1) * bandHeight <= y) {
+            spareBands.add(bands.removeIndex(0));
+            firstBand++;
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < bands.size; i++) {
+            bands.get(i).clear();
+        }
+        spareBands.addAll(bands);
+        bands.clear();
+        firstBand = 0;
+        size = 0;
+        maxHeight = 0f;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int bandOf(float y) {
+        // La torre crece desde y = 0; lo que quede por debajo va a la primera franja
+        return Math.max(0, (int) (y / bandHeight));
+    }
+}
@@ -0,0 +1,86 @@
+package com.mygdx.metroid;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Hace rebotar las entidades SOLID contra las paredes y el suelo. Barre la caja de cada una desde su
+ * posición anterior, como hace {@link Simulation} con el jugador, así que tampoco atraviesan tiles
+ * a velocidades altas. Al chocar se quedan en el punto de contacto y pierden el resto del paso.
+ */
+public class WallCollisionSystem implements EntitySystem {
+    private static final int REQUIRED = EntityWorld.POSITION | EntityWorld.VELOCITY | EntityWorld.BODY | EntityWorld.SOLID;
+
+    private final WallStore leftWalls;
+    private final VerticalBandIndex leftIndex;
+    private final WallStore rightWalls;
+    private final VerticalBandIndex rightIndex;
+    private final TowerSource tower;
+    private final SweptAabb sweeper = new SweptAabb();
+    private final IntArray nearbyWalls = new IntArray();
+
+    // Primer contacto del barrido actual
+    private float contactTime;
+    private boolean contactOnYAxis;
+
+    public WallCollisionSystem(WallStore leftWalls, VerticalBandIndex leftIndex,
+                               WallStore rightWalls, VerticalBandIndex rightIndex, TowerSource tower) {
+        this.leftWalls = leftWalls;
+        this.leftIndex = leftIndex;
+        this.rightWalls = rightWalls;
+        this.rightIndex = rightIndex;
+        this.tower = tower;
+    }
+
+    @Override
+    public void update(EntityWorld world, float delta) {
+        float ground = tower.getGroundHeight();
+        for (int i = 0, n = world.size(); i < n; i++) {
+            int id = world.getEntity(i);
+            if (!world.has(id, REQUIRED)) continue;
+
+            float startX = world.previousX[id];
+            float startY = world.previousY[id];
+            float width = world.width[id];
+            float height = world.height[id];
+            float dx = world.x[id] - startX;
+            float dy = world.y[id] - startY;
+            float minY = Math.min(startY, world.y[id]);
+            float maxY = Math.max(startY, world.y[id]) + height;
+
+            contactTime = SweptAabb.NO_CONTACT;
+            sweepWalls(leftWalls, leftIndex, startX, startY, width, height, dx, dy, minY, maxY);
+            sweepWalls(rightWalls, rightIndex, startX, startY, width, height, dx, dy, minY, maxY);
+            if (contactTime != SweptAabb.NO_CONTACT) {
+                world.x[id] = startX + dx * contactTime;
+                world.y[id] = startY + dy * contactTime;
+                if (contactOnYAxis) {
+                    world.velocityY[id] *= -world.restitution[id];
+                } else {
+                    world.velocityX[id] *= -world.restitution[id];
+                }
+            }
+
+            // El suelo es un plano infinito a la altura del de la torre
+            if (world.y[id] < ground) {
+                world.y[id] = ground;
+                if (world.velocityY[id] < 0f) world.velocityY[id] *= -world.restitution[id];
+            }
+        }
+    }
+
+    private void sweepWalls(WallStore walls, VerticalBandIndex index, float startX, float startY,
+                            float width, float height, float dx, float dy, float minY, float maxY) {
+        nearbyWalls.clear();
+        index.query(minY, maxY, nearbyWalls);
+        for (int i = 0; i < nearbyWalls.size; i++) {
+            int wall = nearbyWalls.get(i);
+            float time = sweeper.sweep(startX, startY, width, height, dx, dy,
+                walls.getX(wall), walls.getY(wall), walls.getWidth(wall), walls.getHeight(wall));
+            // Las que ya estaban dentro no se corrigen (saldrían disparadas): solo se evita que entren
+            if (time < contactTime && !sweeper.startedInside) {
+                contactTime = time;
+                contactOnYAxis = sweeper.onYAxis;
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.mygdx.metroid;
+
+/**
+ * Segmentos de pared en arrays primitivos (estructura de arrays) en lugar de un objeto por plataforma.
+ * Cada segmento tiene un id creciente; los ids viejos se descartan por abajo con {@link #removeBefore},
+ * así que funciona como una cola circular que solo crece si la ventana viva no cabe.
+ * Los ids siguen siendo válidos aunque crezca, por eso el índice espacial y los tramos guardan ids.
+ */
+public class WallStore {
+    private static final int INITIAL_CAPACITY = 64; // potencia de dos
+
+    private float[] x;
+    private float[] y;
+    private float[] width;
+    private float[] height;
+    private float[] scale;
+    private float[] rotation;
+    private int mask;
+    private int firstId = 0; // id más antiguo vivo
+    private int nextId = 0;  // id que recibirá el próximo segmento
+
+    public WallStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /** Añade un segmento y devuelve su id. */
+    public int add(float x, float y, float width, float height, float scale, float rotation) {
+        if (size() == this.x.length) {
+            grow();
+        }
+        int id = nextId++;
+        int slot = id & mask;
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.width[slot] = width;
+        this.height[slot] = height;
+        this.scale[slot] = scale;
+        this.rotation[slot] = rotation;
+        return id;
+    }
+
+    /** Descarta todos los segmentos con id menor que {@code id}. */
+    public void removeBefore(int id) {
+        firstId = Math.max(firstId, Math.min(id, nextId));
+    }
+
+    public void clear() {
+        firstId = 0;
+        nextId = 0;
+    }
+
+    public int getFirstId() {
+        return firstId;
+    }
+
+    public int getEndId() {
+        return nextId;
+    }
+
+    public int size() {
+        return nextId - firstId;
+    }
+
+    public float getX(int id) {
+        return x[id & mask];
+    }
+
+    public float getY(int id) {
+        return y[id & mask];
+    }
+
+    public float getWidth(int id) {
+        return width[id & mask];
+    }
+
+    public float getHeight(int id) {
+        return height[id & mask];
+    }
+
+    public float getTop(int id) {
+        int slot = id & mask;
+        return y[slot] + height[slot];
+    }
+
+    public float getScale(int id) {
+        return scale[id & mask];
+    }
+
+    public float getRotation(int id) {
+        return rotation[id & mask];
+    }
+
+    private void allocate(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        scale = new float[capacity];
+        rotation = new float[capacity];
+        mask = capacity - 1;
+    }
+
+    /** Dobla la capacidad recolocando cada id vivo en su nueva posición. */
+    private void grow() {
+        float[] oldX = x, oldY = y, oldWidth = width, oldHeight = height, oldScale = scale, oldRotation = rotation;
+        int oldMask = mask;
+        allocate(oldX.length * 2);
+        for (int id = firstId; id < nextId; id++) {
+            int from = id & oldMask;
+            int to = id & mask;
+            x[to] = oldX[from];
+            y[to] = oldY[from];
+            width[to] = oldWidth[from];
+            height[to] = oldHeight[from];
+            scale[to] = oldScale[from];
+            rotation[to] = oldRotation[from];
+        }
+    }
+}
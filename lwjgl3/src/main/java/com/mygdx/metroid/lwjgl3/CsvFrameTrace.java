@@ -0,0 +1,113 @@
+package com.mygdx.metroid.lwjgl3;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.mygdx.metroid.FrameProfiler;
+import com.mygdx.metroid.FrameTraceSink;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Writes one CSV row per frame and, on close, a JSON summary next to it ({@code <file>.json}) with the
+ * frame-time percentiles, so two builds can be compared with a plain diff or a script.
+ */
+public class CsvFrameTrace implements FrameTraceSink {
+    private static final String HEADER =
+        "frame,frame_ms,update_ms,render_ms,draw_calls,texture_bindings,batch_flushes,flushes_saved,sprites_drawn,sprites_culled,particles_active,particles_dropped,render_scale\n";
+
+    private final File file;
+    private final Writer writer;
+    private final StringBuilder row = new StringBuilder(128);
+    private char[] rowChars = new char[128];
+    private final FloatArray frameTimes = new FloatArray(4096);
+    private final FloatArray updateTimes = new FloatArray(4096);
+    private final FloatArray renderTimes = new FloatArray(4096);
+    private boolean failed = false;
+
+    public CsvFrameTrace(File file) throws IOException {
+        this.file = file;
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) parent.mkdirs();
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), 1 << 16);
+        writer.write(HEADER);
+    }
+
+    @Override
+    public void onFrame(FrameProfiler profiler) {
+        if (failed) return;
+        frameTimes.add(profiler.frameMillis);
+        updateTimes.add(profiler.updateMillis);
+        renderTimes.add(profiler.renderMillis);
+
+        row.setLength(0);
+        row.append(profiler.frame).append(',')
+            .append(profiler.frameMillis).append(',')
+            .append(profiler.updateMillis).append(',')
+            .append(profiler.renderMillis).append(',')
+            .append(profiler.drawCalls).append(',')
+            .append(profiler.textureBindings).append(',')
+            .append(profiler.batchFlushes).append(',')
+            .append(profiler.flushesSaved).append(',')
+            .append(profiler.spritesDrawn).append(',')
+            .append(profiler.spritesCulled).append(',')
+            .append(profiler.particlesActive).append(',')
+            .append(profiler.particlesDropped).append(',')
+            .append(profiler.renderScale).append('\n');
+        if (rowChars.length < row.length()) rowChars = new char[row.length() * 2];
+        row.getChars(0, row.length(), rowChars, 0);
+        try {
+            writer.write(rowChars, 0, row.length());
+        } catch (IOException e) {
+            failed = true;
+            System.err.println("Frame trace disabled, could not write " + file + ": " + e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+            writeSummary(new File(file.getPath() + ".json"));
+        } catch (IOException e) {
+            System.err.println("Could not finish frame trace " + file + ": " + e);
+        }
+    }
+
+    private void writeSummary(File summary) throws IOException {
+        float[] frames = sortedCopy(frameTimes);
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(summary), StandardCharsets.UTF_8)) {
+            out.write(String.format(Locale.ROOT,
+                "{\"frames\": %d, \"frame_ms\": {\"mean\": %.3f, \"p50\": %.3f, \"p95\": %.3f, \"p99\": %.3f, \"max\": %.3f},"
+                    + " \"update_ms_mean\": %.3f, \"render_ms_mean\": %.3f}%n",
+                frames.length, mean(frameTimes), percentile(frames, 0.50f), percentile(frames, 0.95f),
+                percentile(frames, 0.99f), frames.length == 0 ? 0f : frames[frames.length - 1],
+                mean(updateTimes), mean(renderTimes)));
+        }
+    }
+
+    private static float[] sortedCopy(FloatArray values) {
+        float[] copy = values.toArray();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static float percentile(float[] sorted, float fraction) {
+        if (sorted.length == 0) return 0f;
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)];
+    }
+
+    private static float mean(FloatArray values) {
+        if (values.size == 0) return 0f;
+        double sum = 0;
+        for (int i = 0; i < values.size; i++) sum += values.get(i);
+        return (float) (sum / values.size);
+    }
+}
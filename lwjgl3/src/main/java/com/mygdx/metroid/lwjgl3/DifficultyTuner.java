@@ -0,0 +1,264 @@
+package com.mygdx.metroid.lwjgl3;
+
+import com.mygdx.metroid.ClimbBot;
+import com.mygdx.metroid.InputSnapshot;
+import com.mygdx.metroid.Player;
+import com.mygdx.metroid.Simulation;
+import com.mygdx.metroid.TowerParameters;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays thousands of seeded towers headless with a {@link ClimbBot} and reports, per generation parameter set,
+ * how many towers the bot can climb to the target height and how hard they were. Towers are split across all
+ * cores with a fork-join pool; every set is played on the same seeds, and the result does not depend on the
+ * thread count, so two runs (or two parameter sets) can be compared directly.
+ * Usage: {@code ./gradlew lwjgl3:tuneDifficulty -Ptowers=5000 -Psets=sets.txt -Pcsv=difficulty.csv}
+ */
+public class DifficultyTuner {
+    private static final float STEP = 1f / 60f;
+    // Leaves of the fork-join split: enough towers per task to amortise creating a Simulation
+    private static final int TOWERS_PER_TASK = 16;
+
+    private int towers = 2000;
+    private long firstSeed = 1L;
+    private float targetHeight = 10000f;
+    private float maxSeconds = 120f;
+    private int wallWaitSteps = 0;
+    private float bounceVelocity = ClimbBot.DEFAULT_BOUNCE_VELOCITY;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private String setsFile;
+    private String csvFile;
+
+    public static void main(String[] args) throws IOException {
+        DifficultyTuner tuner = new DifficultyTuner();
+        tuner.parseArguments(args);
+        tuner.run();
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--towers": towers = Integer.parseInt(value); i++; break;
+                case "--seed": firstSeed = Long.parseLong(value); i++; break;
+                case "--target": targetHeight = Float.parseFloat(value); i++; break;
+                case "--seconds": maxSeconds = Float.parseFloat(value); i++; break;
+                case "--wait": wallWaitSteps = Integer.parseInt(value); i++; break;
+                case "--bounce-velocity": bounceVelocity = Float.parseFloat(value); i++; break;
+                case "--threads": threads = Integer.parseInt(value); i++; break;
+                case "--sets": setsFile = value; i++; break;
+                case "--csv": csvFile = value; i++; break;
+                default:
+                    System.err.println("Usage: DifficultyTuner [--towers n] [--seed first] [--target height] [--seconds s]"
+                        + " [--wait steps] [--bounce-velocity v] [--threads n] [--sets file] [--csv file]");
+                    System.exit(2);
+            }
+        }
+    }
+
+    private void run() throws IOException {
+        List<TowerParameters> sets = setsFile != null ? readSets(setsFile) : defaultSets();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        System.out.printf(Locale.ROOT, "%d towers per set, seeds %d-%d, target %.0f px in %.0f s, %d threads%n",
+            towers, firstSeed, firstSeed + towers - 1, targetHeight, maxSeconds, threads);
+
+        List<TowerStats> results = new ArrayList<>();
+        try {
+            for (TowerParameters parameters : sets) {
+                long start = System.nanoTime();
+                TowerStats stats = pool.invoke(new TowerBatch(parameters, firstSeed, towers));
+                double seconds = (System.nanoTime() - start) / 1e9;
+                results.add(stats);
+                System.out.printf(Locale.ROOT,
+                    "%-50s reached %5.1f%%  height p10 %7.0f p50 %7.0f  time to target %5.1f s  taps/1000px %5.2f  (%.1f s)%n",
+                    parameters, stats.getReachRate() * 100, stats.getHeightPercentile(0.1f),
+                    stats.getHeightPercentile(0.5f), stats.getMeanSecondsToTarget(), stats.getTapsPer1000Px(), seconds);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        if (csvFile != null) writeCsv(csvFile, results);
+    }
+
+    /** A small sweep around the shipped values: how sparse and how spread out the walls can get. */
+    private static List<TowerParameters> defaultSets() {
+        TowerParameters base = TowerParameters.DEFAULT;
+        List<TowerParameters> sets = new ArrayList<>();
+        for (float spawnChance : new float[]{0.7f, 0.8f, 0.9f, 1f}) {
+            for (float maxGap : new float[]{200f, 250f, 300f}) {
+                sets.add(new TowerParameters(base.minGap, maxGap, base.minRightOffset, base.maxRightOffset, spawnChance));
+            }
+        }
+        return sets;
+    }
+
+    /** One set per line: {@code minGap maxGap minRightOffset maxRightOffset spawnChance}; {@code #} starts a comment. */
+    private static List<TowerParameters> readSets(String path) throws IOException {
+        List<TowerParameters> sets = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comment = line.indexOf('#');
+                if (comment >= 0) line = line.substring(0, comment);
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                String[] fields = line.split("\\s+");
+                if (fields.length != 5) throw new IOException("Expected 5 values per line in " + path + ": " + line);
+                sets.add(new TowerParameters(Float.parseFloat(fields[0]), Float.parseFloat(fields[1]),
+                    Float.parseFloat(fields[2]), Float.parseFloat(fields[3]), Float.parseFloat(fields[4])));
+            }
+        }
+        return sets;
+    }
+
+    private void writeCsv(String path, List<TowerStats> results) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(path))) {
+            out.println("min_gap,max_gap,min_right_offset,max_right_offset,spawn_chance,towers,reach_rate,"
+                + "height_p10,height_p50,height_p90,seconds_to_target,taps_per_1000px,air_bounce_ratio");
+            for (TowerStats stats : results) {
+                TowerParameters p = stats.parameters;
+                out.printf(Locale.ROOT, "%.1f,%.1f,%.1f,%.1f,%.3f,%d,%.4f,%.1f,%.1f,%.1f,%.2f,%.3f,%.3f%n",
+                    p.minGap, p.maxGap, p.minRightOffset, p.maxRightOffset, p.spawnChance, stats.towers,
+                    stats.getReachRate(), stats.getHeightPercentile(0.1f), stats.getHeightPercentile(0.5f),
+                    stats.getHeightPercentile(0.9f), stats.getMeanSecondsToTarget(), stats.getTapsPer1000Px(),
+                    stats.getAirBounceRatio());
+            }
+        }
+        System.out.println("Wrote " + path);
+    }
+
+    /** Plays towers [firstSeed, firstSeed + count) with one parameter set, splitting in halves down to a few towers. */
+    private class TowerBatch extends RecursiveTask<TowerStats> {
+        private static final long serialVersionUID = 1L; // RecursiveTask is Serializable; batches are never serialized
+
+        private final TowerParameters parameters;
+        private final long firstSeed;
+        private final int count;
+
+        TowerBatch(TowerParameters parameters, long firstSeed, int count) {
+            this.parameters = parameters;
+            this.firstSeed = firstSeed;
+            this.count = count;
+        }
+
+        @Override
+        protected TowerStats compute() {
+            if (count <= TOWERS_PER_TASK) return play();
+            int half = count / 2;
+            TowerBatch low = new TowerBatch(parameters, firstSeed, half);
+            TowerBatch high = new TowerBatch(parameters, firstSeed + half, count - half);
+            low.fork();
+            TowerStats stats = high.compute();
+            // Merging low into high in seed order keeps the result independent of scheduling
+            return low.join().merge(stats);
+        }
+
+        /** Each leaf owns its Simulation and bot; they are reset per tower, so nothing is shared between threads. */
+        private TowerStats play() {
+            TowerStats stats = new TowerStats(parameters, count);
+            Simulation simulation = new Simulation(firstSeed, parameters);
+            Player player = simulation.getPlayer();
+            ClimbBot bot = new ClimbBot(wallWaitSteps, bounceVelocity);
+            InputSnapshot input = new InputSnapshot();
+            int maxSteps = (int) (maxSeconds / STEP);
+
+            for (int i = 0; i < count; i++) {
+                simulation.reset(firstSeed + i);
+                bot.reset();
+                int reachedAt = -1;
+                for (int step = 0; step < maxSteps; step++) {
+                    simulation.step(STEP, bot.next(player, input));
+                    if (simulation.getMaxHeight() >= targetHeight) {
+                        reachedAt = step + 1;
+                        break;
+                    }
+                    // Same rule as the game: the run ends once the player has fallen too far to recover
+                    if (simulation.isRunOver()) break;
+                }
+                stats.add(i, simulation.getMaxHeight(), reachedAt < 0 ? -1f : reachedAt * STEP,
+                    bot.getTaps(), bot.getAirBounces());
+            }
+            return stats;
+        }
+    }
+
+    /** Per-tower outcomes of a run of consecutive seeds, plus the aggregates printed in the report. */
+    private static class TowerStats {
+        final TowerParameters parameters;
+        int towers;
+        float[] heights;
+        int reached;
+        double secondsToTarget; // Sum over the towers that reached the target
+        long taps;
+        long airBounces;
+
+        TowerStats(TowerParameters parameters, int towers) {
+            this.parameters = parameters;
+            this.towers = towers;
+            this.heights = new float[towers];
+        }
+
+        void add(int index, float height, float seconds, int taps, int airBounces) {
+            heights[index] = height;
+            if (seconds >= 0f) {
+                reached++;
+                secondsToTarget += seconds;
+            }
+            this.taps += taps;
+            this.airBounces += airBounces;
+        }
+
+        /** Appends {@code next}, which covers the seeds right after these. */
+        TowerStats merge(TowerStats next) {
+            float[] merged = Arrays.copyOf(heights, towers + next.towers);
+            System.arraycopy(next.heights, 0, merged, towers, next.towers);
+            heights = merged;
+            towers += next.towers;
+            reached += next.reached;
+            secondsToTarget += next.secondsToTarget;
+            taps += next.taps;
+            airBounces += next.airBounces;
+            return this;
+        }
+
+        float getReachRate() {
+            return towers == 0 ? 0f : (float) reached / towers;
+        }
+
+        float getHeightPercentile(float fraction) {
+            if (towers == 0) return 0f;
+            float[] sorted = heights.clone();
+            Arrays.sort(sorted);
+            return sorted[Math.min(towers - 1, (int) (fraction * towers))];
+        }
+
+        /** Mean time to reach the target among the towers that were climbed; NaN if none was. */
+        float getMeanSecondsToTarget() {
+            return reached == 0 ? Float.NaN : (float) (secondsToTarget / reached);
+        }
+
+        /** Taps per 1000 px climbed: how much work the bot needed to gain height. */
+        float getTapsPer1000Px() {
+            double climbed = 0;
+            for (float height : heights) climbed += Math.max(0f, height - Simulation.getSpawnY());
+            return climbed == 0 ? 0f : (float) (taps * 1000 / climbed);
+        }
+
+        /** Share of taps that had to be air bounces rather than jumps off a wall. */
+        float getAirBounceRatio() {
+            return taps == 0 ? 0f : (float) airBounces / taps;
+        }
+    }
+}
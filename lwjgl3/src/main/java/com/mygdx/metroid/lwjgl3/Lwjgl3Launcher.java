@@ -4,15 +4,59 @@ import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import com.mygdx.metroid.Main;
 
+import java.io.File;
+import java.io.IOException;
+
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
-        if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
+        // A native image has no JVM to restart and bundles its natives, so the helper is JVM-only.
+        if (!isNativeImage() && StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
         createApplication();
     }
 
+    static boolean isNativeImage() {
+        return !System.getProperty("org.graalvm.nativeimage.imagecode", "").isEmpty();
+    }
+
     private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new Main(), getDefaultConfiguration());
+        Main main = new Main();
+        // Run with -Dmetroid.allocations=true to log the bytes allocated per frame (tag "Alloc").
+        if (Boolean.getBoolean("metroid.allocations")) {
+            main.setAllocationCounter(ThreadAllocationCounter.createIfSupported());
+        }
+        // Desktop renders at native resolution; -Dmetroid.dynamicScale=true tests the low-end fallback.
+        main.setDynamicRenderScale(Boolean.getBoolean("metroid.dynamicScale"));
+        // Replays are written to ~/.metroid (or -Dmetroid.dataDir=dir), not to the working directory,
+        // which is assets/ under Gradle and would get them packed into the jar.
+        main.setDataDirectory(getDataDirectory());
+        // Run with -Dmetroid.mute=true to play without sound effects or music.
+        main.setMuted(Boolean.getBoolean("metroid.mute"));
+        // Run with -Dmetroid.tower=level.mtw to play a handcrafted level (see lwjgl3:convertTower) instead of a seeded one.
+        main.setTowerFile(System.getProperty("metroid.tower"));
+        // Run with -Dmetroid.frameTrace=trace.csv to dump per-frame metrics (plus trace.csv.json with percentiles).
+        String frameTrace = System.getProperty("metroid.frameTrace");
+        if (frameTrace != null && !frameTrace.isEmpty()) {
+            try {
+                main.setFrameTraceSink(new CsvFrameTrace(new File(frameTrace)));
+            } catch (IOException e) {
+                System.err.println("Could not open frame trace " + frameTrace + ": " + e);
+            }
+        }
+        // Run with -Dmetroid.startupProbe=<epoch millis at launch> to print time-to-first-frame and RSS, then quit
+        // (used by startup-benchmark.sh). Probe runs start a new game and leave the saved run and replay untouched.
+        String startupProbe = System.getProperty("metroid.startupProbe");
+        if (startupProbe != null && !startupProbe.isEmpty()) {
+            main.setPersistent(false);
+            main.setFrameListener(new StartupProbe(main, Long.parseLong(startupProbe)));
+        }
+        return new Lwjgl3Application(main, getDefaultConfiguration());
+    }
+
+    private static String getDataDirectory() {
+        String dataDir = System.getProperty("metroid.dataDir");
+        if (dataDir != null && !dataDir.isEmpty()) return new File(dataDir).getAbsolutePath();
+        return new File(System.getProperty("user.home"), ".metroid").getAbsolutePath();
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
@@ -28,7 +72,8 @@ public class Lwjgl3Launcher {
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
 
-        configuration.setWindowedMode(480, 800);
+        //// Same aspect as the 400x800 world, so the viewport needs no letterboxing at the default size.
+        configuration.setWindowedMode(400, 800);
         //// You can change these files; they are in lwjgl3/src/main/resources/ .
         //// They can also be loaded from the root of assets/ .
         configuration.setWindowIcon("libgdx128.png", "libgdx64.png", "libgdx32.png", "libgdx16.png");
@@ -0,0 +1,91 @@
+package com.mygdx.metroid.lwjgl3;
+
+import com.mygdx.metroid.ClimbBot;
+import com.mygdx.metroid.InputSnapshot;
+import com.mygdx.metroid.Replay;
+import com.mygdx.metroid.ReplayRecorder;
+import com.mygdx.metroid.ReplayRunner;
+import com.mygdx.metroid.Simulation;
+import com.mygdx.metroid.SimulationSnapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Re-runs recorded games headless (no window, no GL) and checks that each one still ends with the
+ * recorded height and checksum. Exits with status 1 if any replay diverges, so it can gate physics tuning.
+ * Usage: {@code ./gradlew lwjgl3:verifyReplays -Preplays=path/one.mrp,path/two.mrp}
+ * <p>
+ * With {@code --record out.mrp seed steps [startStep]} it records a {@link ClimbBot} run instead, which is how
+ * the fixtures checked by {@code lwjgl3:verifyReplayFixtures} are made. With a start step the bot plays that
+ * many steps first and the replay starts from a snapshot there, like a continued run.
+ */
+public class ReplayTool {
+    private static final float STEP_TIME = 1f / 60f;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayTool <replay.mrp>...");
+            System.err.println("       ReplayTool --record <out.mrp> <seed> <steps> [startStep]");
+            System.exit(2);
+        }
+        if (args[0].equals("--record")) {
+            if (args.length < 4) {
+                System.err.println("Usage: ReplayTool --record <out.mrp> <seed> <steps> [startStep]");
+                System.exit(2);
+            }
+            record(args[1], Long.parseLong(args[2]), Integer.parseInt(args[3]),
+                args.length > 4 ? Integer.parseInt(args[4]) : 0);
+            return;
+        }
+
+        boolean allMatch = true;
+        for (String path : args) {
+            Replay replay;
+            try (InputStream in = new BufferedInputStream(new FileInputStream(path))) {
+                replay = Replay.read(in);
+            }
+            ReplayRunner.Result result = ReplayRunner.run(replay);
+            boolean matches = result.matches(replay);
+            allMatch &= matches;
+            System.out.printf("%s: %s, %d ticks at %.0f ticks/s, height %.1f (recorded %.1f)%n",
+                path, matches ? "OK" : "DIVERGED", result.ticks, result.getTicksPerSecond(),
+                result.maxHeight, replay.maxHeight);
+        }
+        System.exit(allMatch ? 0 : 1);
+    }
+
+    private static void record(String path, long seed, int steps, int startStep) throws IOException {
+        Simulation simulation = new Simulation(seed);
+        ClimbBot bot = new ClimbBot();
+        InputSnapshot input = new InputSnapshot();
+        for (int i = 0; i < startStep; i++) {
+            simulation.step(STEP_TIME, bot.next(simulation.getPlayer(), input));
+        }
+
+        ReplayRecorder recorder = new ReplayRecorder();
+        if (startStep > 0) {
+            SimulationSnapshot snapshot = new SimulationSnapshot();
+            simulation.save(snapshot);
+            recorder.begin(snapshot, STEP_TIME);
+        } else {
+            recorder.begin(seed, STEP_TIME);
+        }
+        for (int i = 0; i < steps; i++) {
+            bot.next(simulation.getPlayer(), input);
+            recorder.record(input);
+            simulation.step(STEP_TIME, input);
+        }
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(path))) {
+            recorder.finish(simulation).write(out);
+        }
+        System.out.printf("%s: %d ticks, height %.1f, %d pickups%n",
+            path, steps, simulation.getMaxHeight(), simulation.getPickupsCollected());
+    }
+}
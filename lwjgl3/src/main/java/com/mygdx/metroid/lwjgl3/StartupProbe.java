@@ -0,0 +1,56 @@
+package com.mygdx.metroid.lwjgl3;
+
+import com.badlogic.gdx.Gdx;
+import com.mygdx.metroid.GameScreen;
+import com.mygdx.metroid.Main;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+/**
+ * Measures startup for lwjgl3/startup-benchmark.sh: prints the time to the first rendered frame and to the
+ * first game frame (assets loaded), plus resident memory at that point, then quits the game.
+ * Times are measured from {@code launchMillis} (epoch millis taken by the script just before launching),
+ * so JVM and native-image runs are timed the same way, including JVM boot.
+ * It runs as a {@link Main#setFrameListener frame listener}, so GLProfiler stays off as in a normal run.
+ */
+public class StartupProbe implements Runnable {
+    private final Main main;
+    private final long launchMillis;
+    private long firstFrameMillis = -1;
+    private boolean done;
+
+    public StartupProbe(Main main, long launchMillis) {
+        this.main = main;
+        this.launchMillis = launchMillis;
+    }
+
+    @Override
+    public void run() {
+        if (done) return;
+        long now = System.currentTimeMillis();
+        if (firstFrameMillis < 0) firstFrameMillis = now;
+        if (!(main.getScreen() instanceof GameScreen)) return;
+
+        done = true;
+        System.out.println("startup first_frame_ms=" + (firstFrameMillis - launchMillis)
+            + " first_game_frame_ms=" + (now - launchMillis)
+            + " rss_kb=" + readStatus("VmRSS") + " peak_rss_kb=" + readStatus("VmHWM"));
+        Gdx.app.exit();
+    }
+
+    /** A value in kB from /proc/self/status (Linux only); -1 elsewhere. */
+    private static long readStatus(String key) {
+        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/self/status"))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith(key + ":")) {
+                    return Long.parseLong(line.substring(key.length() + 1).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+}
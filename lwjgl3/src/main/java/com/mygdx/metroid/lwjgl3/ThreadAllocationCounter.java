@@ -0,0 +1,45 @@
+package com.mygdx.metroid.lwjgl3;
+
+import com.mygdx.metroid.AllocationCounter;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads the bytes allocated by the current thread through HotSpot's ThreadMXBean.
+ * On older JDKs the query itself allocates a couple of small arrays; that cost is measured once
+ * and subtracted, so an allocation-free frame reports 0.
+ */
+public class ThreadAllocationCounter implements AllocationCounter {
+    private final com.sun.management.ThreadMXBean bean;
+    private final long overheadPerCall;
+    private long calls;
+
+    private ThreadAllocationCounter(com.sun.management.ThreadMXBean bean) {
+        this.bean = bean;
+        bean.setThreadAllocatedMemoryEnabled(true);
+        long id = Thread.currentThread().getId();
+        // Warm up, then measure what a single query costs.
+        for (int i = 0; i < 16; i++) bean.getThreadAllocatedBytes(id);
+        long first = bean.getThreadAllocatedBytes(id);
+        long second = bean.getThreadAllocatedBytes(id);
+        overheadPerCall = Math.max(0, second - first);
+    }
+
+    /** Returns a counter, or null if this JVM cannot report per-thread allocations. */
+    public static ThreadAllocationCounter createIfSupported() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) bean;
+            if (hotspotBean.isThreadAllocatedMemorySupported()) {
+                return new ThreadAllocationCounter(hotspotBean);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        calls++;
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId()) - calls * overheadPerCall;
+    }
+}
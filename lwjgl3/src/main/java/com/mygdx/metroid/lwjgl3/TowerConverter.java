@@ -0,0 +1,116 @@
+package com.mygdx.metroid.lwjgl3;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.mygdx.metroid.Simulation;
+import com.mygdx.metroid.TowerChunk;
+import com.mygdx.metroid.TowerGenerator;
+import com.mygdx.metroid.TowerLayout;
+import com.mygdx.metroid.WallStore;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds binary tower levels ({@link TowerLayout}) on the desktop, so the game never parses text at startup.
+ * Either converts a handcrafted JSON description or freezes a seeded tower into a level that can be edited.
+ * <pre>
+ * { "ground": 64,
+ *   "left":  [ { "y": 120 }, { "y": 300, "scale": 1.05, "rotation": -85 } ],
+ *   "right": [ { "y": 200, "x": 330 } ] }
+ * </pre>
+ * Missing fields default to a 64 px tile against its wall, scale 1 and the wall's base rotation (-90 / 90).
+ * Segments may be listed in any order; they are sorted by Y per wall.
+ * Usage: {@code ./gradlew lwjgl3:convertTower -Pin=room.json -Pout=room.mtw} or {@code -Pseed=42 -Pheight=20000 -Pout=tower.mtw}
+ */
+public class TowerConverter {
+    public static void main(String[] args) throws IOException {
+        String in = null, out = null;
+        Long seed = null;
+        float height = 10000f;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--in": in = args[i + 1]; break;
+                case "--out": out = args[i + 1]; break;
+                case "--seed": seed = Long.parseLong(args[i + 1]); break;
+                case "--height": height = Float.parseFloat(args[i + 1]); break;
+                default: usage();
+            }
+        }
+        if (out == null || (in == null) == (seed == null)) usage();
+
+        WallStore left = new WallStore();
+        WallStore right = new WallStore();
+        float ground;
+        if (in != null) {
+            ground = readJson(new File(in), left, right);
+        } else {
+            ground = Simulation.GROUND_HEIGHT;
+            generate(seed, height, left, right);
+        }
+
+        File file = new File(out);
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) parent.mkdirs();
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(file))) {
+            TowerLayout.write(output, ground, left, right);
+        }
+        System.out.printf("%s: %d left and %d right segments, %d bytes%n",
+            out, left.size(), right.size(), file.length());
+    }
+
+    private static void usage() {
+        System.err.println("Usage: TowerConverter --in level.json --out level.mtw");
+        System.err.println("       TowerConverter --seed n [--height px] --out level.mtw");
+        System.exit(2);
+    }
+
+    private static float readJson(File file, WallStore left, WallStore right) {
+        JsonValue root = new JsonReader().parse(new FileHandle(file));
+        addSorted(root.get("left"), left, 0f, -90f);
+        addSorted(root.get("right"), right, Simulation.WORLD_WIDTH - Simulation.WALL_TILE_SIZE, 90f);
+        return root.getFloat("ground", Simulation.GROUND_HEIGHT);
+    }
+
+    private static void addSorted(JsonValue segments, WallStore walls, float defaultX, float defaultRotation) {
+        if (segments == null) return;
+        List<JsonValue> sorted = new ArrayList<>();
+        for (JsonValue segment = segments.child; segment != null; segment = segment.next) {
+            if (!segment.has("y")) {
+                throw new IllegalArgumentException("Segment without \"y\": " + segment.toJson(JsonWriter.OutputType.minimal));
+            }
+            sorted.add(segment);
+        }
+        sorted.sort((a, b) -> Float.compare(a.getFloat("y"), b.getFloat("y")));
+        for (JsonValue segment : sorted) {
+            walls.add(segment.getFloat("x", defaultX), segment.getFloat("y"),
+                segment.getFloat("width", Simulation.WALL_TILE_SIZE), segment.getFloat("height", Simulation.WALL_TILE_SIZE),
+                segment.getFloat("scale", 1f), segment.getFloat("rotation", defaultRotation));
+        }
+    }
+
+    /** Runs the in-game generator up to {@code height}; the right wall comes out only almost sorted, so it is re-sorted. */
+    private static void generate(long seed, float height, WallStore left, WallStore right) {
+        WallStore generatedRight = new WallStore();
+        TowerGenerator generator = new TowerGenerator(left, generatedRight, seed);
+        TowerChunk chunk = new TowerChunk();
+        while (generator.getCursorY() < height) {
+            generator.fill(chunk);
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        for (int id = generatedRight.getFirstId(); id < generatedRight.getEndId(); id++) ids.add(id);
+        ids.sort((a, b) -> Float.compare(generatedRight.getY(a), generatedRight.getY(b)));
+        for (int id : ids) {
+            right.add(generatedRight.getX(id), generatedRight.getY(id), generatedRight.getWidth(id),
+                generatedRight.getHeight(id), generatedRight.getScale(id), generatedRight.getRotation(id));
+        }
+    }
+}
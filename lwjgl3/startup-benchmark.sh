@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+# Compares JVM and native-image startup on Linux: time to the first rendered frame, time to the first
+# game frame (assets loaded) and resident memory at that point. Each build is launched RUNS times and
+# the median is reported.
+#
+# Build both first:
+#   ./gradlew lwjgl3:jar
+#   ./gradlew lwjgl3:nativeCompile -PenableGraalNative=true
+# Then, from the project root:
+#   lwjgl3/startup-benchmark.sh [runs]
+# Without a display it runs under xvfb-run if available.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+JAR="${JAR:-$(ls lwjgl3/build/libs/*.jar 2>/dev/null | grep -v -- '-\(mac\|win\|linux\)\.jar' | head -n 1)}"
+NATIVE="${NATIVE:-lwjgl3/build/native/nativeCompile/Metroid}"
+JAVA="${JAVA:-java}"
+JAR_PATH=""
+NATIVE_PATH=""
+
+WRAPPER=()
+if [ -z "${DISPLAY:-}" ] && [ -z "${WAYLAND_DISPLAY:-}" ]; then
+  if command -v xvfb-run >/dev/null; then
+    WRAPPER=(xvfb-run -a -s "-screen 0 1280x1024x24")
+  else
+    echo "No display and no xvfb-run: cannot open a window" >&2
+    exit 1
+  fi
+fi
+
+# Runs the jvm or native build RUNS times and prints the median of each metric printed by StartupProbe.
+measure() {
+  local name="$1"
+  local results
+  results=$(mktemp)
+  for _ in $(seq "$RUNS"); do
+    local start
+    start=$(date +%s%3N)
+    local probe="-Dmetroid.startupProbe=$start"
+    local command=("$NATIVE_PATH" "$probe")
+    if [ "$name" = jvm ]; then
+      # System properties go before -jar, or the JVM passes them to the game as arguments
+      command=("$JAVA" "$probe" -jar "$JAR_PATH")
+    fi
+    (cd assets && ${WRAPPER[@]+"${WRAPPER[@]}"} "${command[@]}") 2>/dev/null \
+      | grep '^startup ' | tail -n 1 >> "$results" || true
+  done
+  if [ ! -s "$results" ]; then
+    echo "$name: no startup line printed (did the build run?)" >&2
+    rm -f "$results"
+    return
+  fi
+  for metric in first_frame_ms first_game_frame_ms rss_kb peak_rss_kb; do
+    grep -o "$metric=[0-9-]*" "$results" | cut -d= -f2 | sort -n \
+      | awk -v name="$name" -v metric="$metric" '{ v[NR] = $1 } END { printf "%-7s %-20s %s\n", name, metric, v[int((NR + 1) / 2)] }'
+  done
+  rm -f "$results"
+}
+
+if [ -n "$JAR" ] && [ -f "$JAR" ]; then
+  # The launch time is taken before the JVM boots, so JVM startup is part of the result
+  JAR_PATH="$(realpath "$JAR")"
+  measure jvm
+else
+  echo "No lwjgl3 jar found; run ./gradlew lwjgl3:jar" >&2
+fi
+
+if [ -x "$NATIVE" ]; then
+  NATIVE_PATH="$(realpath "$NATIVE")"
+  measure native
+else
+  echo "No native image at $NATIVE; run ./gradlew lwjgl3:nativeCompile -PenableGraalNative=true" >&2
+fi